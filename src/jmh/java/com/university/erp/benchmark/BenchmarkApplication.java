@@ -0,0 +1,93 @@
+package com.university.erp.benchmark;
+
+import com.university.erp.UniversityErpApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Starts the real application against a private in-memory H2 database, so the
+ * benchmarks measure the same beans, queries and templates production uses.
+ */
+final class BenchmarkApplication {
+
+    static final String PASSWORD = "password123";
+
+    // Seeded rows stay clear of the ids and rolls DataInitializer takes from the sequence
+    static final long FIRST_ID = 1_000_000;
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start() {
+        return start(Map.of());
+    }
+
+    /**
+     * Starts the application with {@code overrides} applied on top of the benchmark defaults.
+     */
+    static ConfigurableApplicationContext start(Map<String, Object> overrides) {
+        Map<String, Object> properties = new HashMap<>(Map.ofEntries(
+                Map.entry("spring.datasource.url", "jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1"),
+                Map.entry("spring.datasource.driver-class-name", "org.h2.Driver"),
+                Map.entry("spring.datasource.username", "sa"),
+                Map.entry("spring.datasource.password", ""),
+                Map.entry("spring.jpa.hibernate.ddl-auto", "create-drop"),
+                Map.entry("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect"),
+                Map.entry("spring.jpa.show-sql", "false"),
+                Map.entry("spring.docker.compose.enabled", "false"),
+                Map.entry("spring.main.banner-mode", "off"),
+                Map.entry("server.port", "0"),
+                // A fixed cost keeps results comparable between machines and skips calibration
+                Map.entry("app.security.bcrypt.strength", "10"),
+                Map.entry("logging.level.root", "WARN")));
+        properties.putAll(overrides);
+
+        return new SpringApplicationBuilder(UniversityErpApplication.class)
+                .properties(properties)
+                .run();
+    }
+
+    /**
+     * Inserts {@code count} students with plain JDBC batches; returns the email of the first one.
+     */
+    static String seedStudents(ConfigurableApplicationContext context, int count) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        String password = new BCryptPasswordEncoder(10).encode(PASSWORD);
+
+        List<Object[]> batch = new ArrayList<>(1000);
+        for (int i = 0; i < count; i++) {
+            long id = FIRST_ID + i;
+            batch.add(new Object[]{id, "Student " + i, (int) id, "student" + id + "@bench.edu", password, "STUDENT"});
+            if (batch.size() == 1000 || i == count - 1) {
+                jdbcTemplate.batchUpdate(
+                        "insert into students (id, name, roll, email, password, role) values (?, ?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+        return "student" + FIRST_ID + "@bench.edu";
+    }
+
+    /**
+     * Inserts {@code count} courses of {@code capacity} seats each; returns their ids.
+     */
+    static List<Long> seedCourses(ConfigurableApplicationContext context, int count, int capacity) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        List<Long> ids = new ArrayList<>(count);
+        List<Object[]> batch = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long id = FIRST_ID + i;
+            ids.add(id);
+            batch.add(new Object[]{id, "Course " + i, "BENCH" + i, 3.0f, capacity});
+        }
+        jdbcTemplate.batchUpdate("insert into courses (id, name, code, credit, capacity) values (?, ?, ?, ?, ?)", batch);
+        return ids;
+    }
+}
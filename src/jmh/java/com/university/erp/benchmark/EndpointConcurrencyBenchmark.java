@@ -0,0 +1,136 @@
+package com.university.erp.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Throughput of the student list and profile pages over real HTTP with many more
+ * concurrent clients than Tomcat has platform threads, with request handling on
+ * platform threads and on virtual threads. The {@code virtual=true} runs need Java 21
+ * ({@code -P java21}); on older JDKs Spring Boot ignores the property and both runs
+ * use platform threads.
+ * <p>
+ * Against in-memory H2 the requests barely block, so the difference is small; the gain
+ * shows once each request waits on a real database. Point the benchmark at a scratch
+ * PostgreSQL database with {@code -Dbench.db.url=... -Dbench.db.username=... -Dbench.db.password=...}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(64)
+@Fork(1)
+public class EndpointConcurrencyBenchmark {
+
+    private static final Pattern CSRF = Pattern.compile("name=\"_csrf\"\\s+value=\"([^\"]+)\"");
+
+    @Param({"false", "true"})
+    private String virtual;
+
+    private ConfigurableApplicationContext context;
+    private String baseUrl;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Map<String, Object> overrides = new HashMap<>();
+        overrides.put("spring.threads.virtual.enabled", virtual);
+        // Fewer platform threads than clients, so the platform-thread runs queue on the executor
+        overrides.put("server.tomcat.threads.max", "16");
+        overrides.put("spring.datasource.hikari.maximum-pool-size", "32");
+
+        String dbUrl = System.getProperty("bench.db.url");
+        if (dbUrl != null) {
+            overrides.put("spring.datasource.url", dbUrl);
+            overrides.put("spring.datasource.driver-class-name", "org.postgresql.Driver");
+            overrides.put("spring.datasource.username", System.getProperty("bench.db.username", "erp_user"));
+            overrides.put("spring.datasource.password", System.getProperty("bench.db.password", ""));
+            overrides.put("spring.jpa.hibernate.ddl-auto", "update");
+            overrides.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.PostgreSQLDialect");
+        }
+
+        context = BenchmarkApplication.start(overrides);
+        if (dbUrl == null) {
+            BenchmarkApplication.seedStudents(context, 1_000);
+        }
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        baseUrl = "http://localhost:" + port;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * One logged-in browser session per benchmark thread.
+     */
+    @State(Scope.Thread)
+    public static class Session {
+
+        private HttpClient client;
+        private String baseUrl;
+
+        @Setup(Level.Trial)
+        public void login(EndpointConcurrencyBenchmark benchmark) throws IOException, InterruptedException {
+            baseUrl = benchmark.baseUrl;
+            client = HttpClient.newBuilder()
+                    .cookieHandler(new CookieManager())
+                    .followRedirects(HttpClient.Redirect.NEVER)
+                    .build();
+
+            Matcher token = CSRF.matcher(get("/login").body());
+            if (!token.find()) {
+                throw new IllegalStateException("No CSRF token on the login page");
+            }
+            String form = "username=" + encode("student@university.edu")
+                    + "&password=" + encode(BenchmarkApplication.PASSWORD)
+                    + "&_csrf=" + encode(token.group(1));
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/login"))
+                    .header("Content-Type", "application/x-www-form-urlencoded")
+                    .POST(HttpRequest.BodyPublishers.ofString(form))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 302 || response.headers().firstValue("Location").orElse("").contains("error")) {
+                throw new IllegalStateException("Login failed: " + response.statusCode());
+            }
+        }
+
+        HttpResponse<String> get(String path) throws IOException, InterruptedException {
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("GET " + path + " returned " + response.statusCode());
+            }
+            return response;
+        }
+
+        private static String encode(String value) {
+            return URLEncoder.encode(value, StandardCharsets.UTF_8);
+        }
+    }
+
+    @Benchmark
+    public String studentList(Session session) throws IOException, InterruptedException {
+        return session.get("/students").body();
+    }
+
+    @Benchmark
+    public String studentProfile(Session session) throws IOException, InterruptedException {
+        return session.get("/students/profile").body();
+    }
+}
@@ -0,0 +1,97 @@
+package com.university.erp.benchmark;
+
+import com.university.erp.service.EnrollmentException;
+import com.university.erp.service.RegistrationService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registration-day contention: 32 threads registering students at once, all for one course
+ * ({@code courses=1}) or spread over several. With {@code capacity=100} the courses fill in
+ * the first moments and the run measures how quickly late registrations are turned away;
+ * with {@code capacity=1000000} every registration claims a seat.
+ * <p>
+ * Each iteration starts from empty courses. After it, every seat counter is checked against
+ * the enrollment rows, and the run fails if a course took more students than it has seats
+ * or the counter and the rows disagree.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(32)
+@Fork(1)
+public class RegistrationContentionBenchmark {
+
+    private static final int STUDENTS = 100_000;
+
+    @Param({"1", "20"})
+    private int courses;
+
+    @Param({"100", "1000000"})
+    private int capacity;
+
+    private final AtomicLong attempts = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private RegistrationService registrationService;
+    private JdbcTemplate jdbcTemplate;
+    private List<Long> courseIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // One connection per benchmark thread, so threads queue on the seat rows, not the pool
+        context = BenchmarkApplication.start(Map.of("spring.datasource.hikari.maximum-pool-size", "32"));
+        BenchmarkApplication.seedStudents(context, STUDENTS);
+        courseIds = BenchmarkApplication.seedCourses(context, courses, capacity);
+        registrationService = context.getBean(RegistrationService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Setup(Level.Iteration)
+    public void emptyCourses() {
+        jdbcTemplate.update("delete from enrollments");
+        jdbcTemplate.update("update course_seats set taken = 0");
+        attempts.set(0);
+    }
+
+    @TearDown(Level.Iteration)
+    public void checkSeats() {
+        List<Map<String, Object>> seats = jdbcTemplate.queryForList(
+                "select s.course_id, s.taken, c.capacity,"
+                        + " (select count(*) from enrollments e where e.course_id = s.course_id) as enrolled"
+                        + " from course_seats s join courses c on c.id = s.course_id");
+        for (Map<String, Object> row : seats) {
+            long taken = ((Number) row.get("taken")).longValue();
+            long enrolled = ((Number) row.get("enrolled")).longValue();
+            if (taken > ((Number) row.get("capacity")).longValue() || taken != enrolled) {
+                throw new IllegalStateException("Seat counter out of line: " + row);
+            }
+        }
+    }
+
+    @Benchmark
+    public Object enroll() {
+        long attempt = attempts.getAndIncrement();
+        // Past STUDENTS attempts the same students come round again and are refused as duplicates
+        long studentId = BenchmarkApplication.FIRST_ID + attempt % STUDENTS;
+        Long courseId = courseIds.get((int) (attempt % courseIds.size()));
+        try {
+            return registrationService.enroll(studentId, courseId);
+        } catch (EnrollmentException ex) {
+            return ex.getReason();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.university.erp.benchmark;
+
+import com.university.erp.dto.KeysetPage;
+import com.university.erp.dto.ListingRequest;
+import com.university.erp.dto.StudentRow;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.View;
+import org.springframework.web.servlet.ViewResolver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Thymeleaf rendering of {@code students/list.html} through the application's own
+ * view resolver, without the controller or database, for one page of rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StudentListRenderBenchmark {
+
+    @Param({"20", "100"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private View view;
+    private Map<String, Object> model;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = BenchmarkApplication.start();
+        ViewResolver viewResolver = context.getBean("thymeleafViewResolver", ViewResolver.class);
+        view = viewResolver.resolveViewName("students/list", Locale.ENGLISH);
+
+        List<StudentRow> students = new ArrayList<>(rows);
+        for (int i = 1; i <= rows; i++) {
+            students.add(new StudentRow((long) i, "Student " + i, 1000 + i, "student" + i + "@university.edu"));
+        }
+        model = Map.of(
+                "students", students,
+                "keyset", new KeysetPage<>(students, rows, null, (long) rows),
+                "listing", ListingRequest.defaults());
+
+        // The template shows role-dependent links, so render as a teacher
+        SecurityContextHolder.getContext().setAuthentication(
+                new TestingAuthenticationToken("teacher", null, "ROLE_TEACHER"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+        context.close();
+    }
+
+    @Benchmark
+    public String render() throws Exception {
+        WebApplicationContext webContext = (WebApplicationContext) context;
+        MockHttpServletRequest request = new MockHttpServletRequest(webContext.getServletContext(), "GET", "/students");
+        request.setAttribute(DispatcherServlet.WEB_APPLICATION_CONTEXT_ATTRIBUTE, webContext);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        view.render(model, request, response);
+        return response.getContentAsString();
+    }
+}
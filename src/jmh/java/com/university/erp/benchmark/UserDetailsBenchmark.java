@@ -0,0 +1,51 @@
+package com.university.erp.benchmark;
+
+import com.university.erp.security.CustomUserDetailsService;
+import com.university.erp.security.UserDetailsCache;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CustomUserDetailsService#loadUserByUsername} with the account cache warm
+ * and with the lookup forced through to the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserDetailsBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private CustomUserDetailsService userDetailsService;
+    private UserDetailsCache userDetailsCache;
+    private String email;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        email = BenchmarkApplication.seedStudents(context, 10_000);
+        userDetailsService = context.getBean(CustomUserDetailsService.class);
+        userDetailsCache = context.getBean(UserDetailsCache.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public UserDetails cached() {
+        return userDetailsService.loadUserByUsername(email);
+    }
+
+    @Benchmark
+    public UserDetails uncached() {
+        userDetailsCache.evict(email);
+        return userDetailsService.loadUserByUsername(email);
+    }
+}
@@ -0,0 +1,86 @@
+package com.university.erp.benchmark;
+
+import com.university.erp.service.WaitlistService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One waitlist promotion: {@link #BATCH} students drop a full course and one batch of the
+ * students queued behind it is promoted into their seats, with {@code queued} students
+ * waiting. The head of the queue comes from the queue index, so a batch should cost the same
+ * behind 1,000 students as behind 50,000; a scan of the queue would show up as the gap
+ * between the two.
+ * <p>
+ * Each operation includes the statement that frees the seats. Every iteration starts from a
+ * full course and a freshly seeded queue.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, batchSize = 20)
+@Measurement(iterations = 10, batchSize = 20)
+@Fork(1)
+public class WaitlistPromotionBenchmark {
+
+    private static final int BATCH = 50;
+    private static final int CAPACITY = 1_000_000;
+
+    @Param({"1000", "50000"})
+    private int queued;
+
+    private ConfigurableApplicationContext context;
+    private WaitlistService waitlistService;
+    private JdbcTemplate jdbcTemplate;
+    private Long courseId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Promotions only run when the benchmark asks for them
+        context = BenchmarkApplication.start(Map.of(
+                "app.waitlist.promotion-enabled", "false",
+                "app.waitlist.batch-size", String.valueOf(BATCH)));
+        BenchmarkApplication.seedStudents(context, queued);
+        courseId = BenchmarkApplication.seedCourses(context, 1, CAPACITY).get(0);
+        waitlistService = context.getBean(WaitlistService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("insert into course_seats (course_id, taken) values (?, ?)", courseId, CAPACITY);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Setup(Level.Iteration)
+    public void fillQueue() {
+        jdbcTemplate.update("delete from enrollments");
+        jdbcTemplate.update("delete from waitlist_entries");
+        jdbcTemplate.update("update course_seats set taken = ?", CAPACITY);
+
+        Instant start = Instant.now();
+        List<Object[]> batch = new ArrayList<>(1000);
+        for (int i = 0; i < queued; i++) {
+            batch.add(new Object[]{BenchmarkApplication.FIRST_ID + i, BenchmarkApplication.FIRST_ID + i, courseId,
+                    Timestamp.from(start.plusMillis(i))});
+            if (batch.size() == 1000 || i == queued - 1) {
+                jdbcTemplate.batchUpdate(
+                        "insert into waitlist_entries (id, student_id, course_id, queued_at) values (?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+    }
+
+    @Benchmark
+    public int promoteBatch() {
+        jdbcTemplate.update("update course_seats set taken = taken - ? where course_id = ?", BATCH, courseId);
+        return waitlistService.promoteBatch(courseId);
+    }
+}
@@ -0,0 +1,51 @@
+package com.university.erp.config;
+
+import com.university.erp.security.BCryptCostCalibrator;
+import com.university.erp.security.BoundedPasswordEncoder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+@Configuration
+public class PasswordHashingConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordHashingConfig.class);
+
+    @Value("${app.security.bcrypt.strength:0}")
+    private int strength;
+
+    @Value("${app.security.bcrypt.target-millis:250}")
+    private long targetMillis;
+
+    @Value("${app.security.bcrypt.min-strength:10}")
+    private int minStrength;
+
+    @Value("${app.security.bcrypt.max-strength:14}")
+    private int maxStrength;
+
+    @Value("${app.security.hashing.threads:0}")
+    private int threads;
+
+    @Value("${app.security.hashing.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${app.security.hashing.max-wait:5s}")
+    private Duration maxWait;
+
+    @Bean
+    public BoundedPasswordEncoder passwordEncoder() {
+        // A fixed strength wins; otherwise measure this machine against the target
+        int cost = strength > 0 ? strength : BCryptCostCalibrator.calibrate(targetMillis, minStrength, maxStrength);
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        log.info("BCrypt strength {} ({}), hashing pool of {} threads with a queue of {}",
+                cost, strength > 0 ? "configured" : "calibrated to " + targetMillis + " ms", poolSize, queueCapacity);
+
+        // Hashes with a lower strength than this are re-encoded on the next successful login
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(cost), poolSize, queueCapacity, maxWait);
+    }
+}
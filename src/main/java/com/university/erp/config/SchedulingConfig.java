@@ -0,0 +1,12 @@
+package com.university.erp.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Background jobs ({@code @Scheduled} methods), such as the waitlist promotion.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
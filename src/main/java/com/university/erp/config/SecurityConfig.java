@@ -1,19 +1,21 @@
 package com.university.erp.config;
 
 import com.university.erp.security.CustomUserDetailsService;
+import com.university.erp.security.LoginFailureHandler;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 
 @Configuration
+@Import(PasswordHashingConfig.class)
 public class SecurityConfig {
 
     private final CustomUserDetailsService customUserDetailsService;
@@ -23,23 +25,18 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
-    }
-
-    @Bean
-    public UserDetailsService userDetailsService() {
+    public UserDetailsService userDetailsService(PasswordEncoder passwordEncoder) {
         // Teacher - Full CRUD access
         UserDetails teacher = User.builder()
                 .username("teacher")
-                .password(passwordEncoder().encode("password123"))
+                .password(passwordEncoder.encode("password123"))
                 .roles("TEACHER")
                 .build();
 
         // Student - View only + edit own profile
         UserDetails student = User.builder()
                 .username("student")
-                .password(passwordEncoder().encode("password123"))
+                .password(passwordEncoder.encode("password123"))
                 .roles("STUDENT")
                 .build();
 
@@ -53,14 +50,18 @@ public class SecurityConfig {
                         // Public pages
                         .requestMatchers("/", "/home", "/login", "/css/**", "/js/**").permitAll()
 
+                        // Actuator - health for the container check, metrics for the Prometheus scraper.
+                        // Only served on management.server.port, which is not published outside the container network
+                        .requestMatchers("/actuator/health/**", "/actuator/info", "/actuator/prometheus").permitAll()
+
                         // Student endpoints - Both roles can view, only TEACHER can CRUD
                         .requestMatchers(HttpMethod.GET, "/students").hasAnyRole("TEACHER", "STUDENT")
-                        .requestMatchers("/students/new", "/students/edit/**", "/students/update", "/students/delete/**").hasRole("TEACHER")
+                        .requestMatchers("/students/new", "/students/edit/**", "/students/update", "/students/delete/**", "/students/bulk/**").hasRole("TEACHER")
                         .requestMatchers(HttpMethod.POST, "/students").hasRole("TEACHER")
 
                         // Teacher endpoints - Both roles can view, only TEACHER can CRUD
                         .requestMatchers(HttpMethod.GET, "/teachers").hasAnyRole("TEACHER", "STUDENT")
-                        .requestMatchers("/teachers/new", "/teachers/edit/**", "/teachers/update", "/teachers/delete/**").hasRole("TEACHER")
+                        .requestMatchers("/teachers/new", "/teachers/edit/**", "/teachers/update", "/teachers/delete/**", "/teachers/bulk/**").hasRole("TEACHER")
                         .requestMatchers(HttpMethod.POST, "/teachers").hasRole("TEACHER")
 
                         // Department endpoints - Both roles can view, only TEACHER can CRUD
@@ -70,12 +71,19 @@ public class SecurityConfig {
 
                         // Course endpoints - Both roles can view, only TEACHER can CRUD
                         .requestMatchers(HttpMethod.GET, "/courses").hasAnyRole("TEACHER", "STUDENT")
-                        .requestMatchers("/courses/new", "/courses/edit/**", "/courses/update", "/courses/delete/**").hasRole("TEACHER")
+                        .requestMatchers("/courses/new", "/courses/edit/**", "/courses/update", "/courses/delete/**", "/courses/bulk/**").hasRole("TEACHER")
                         .requestMatchers(HttpMethod.POST, "/courses").hasRole("TEACHER")
 
+                        // Bulk CSV import and full-table export - TEACHER only
+                        .requestMatchers("/import/**").hasRole("TEACHER")
+                        .requestMatchers("/export/**").hasRole("TEACHER")
+
                         // Student's own profile - STUDENT can edit their own
                         .requestMatchers("/students/profile/**").hasRole("STUDENT")
 
+                        // Course registration - STUDENT registers and drops for themselves
+                        .requestMatchers("/registration/**").hasRole("STUDENT")
+
                         // Everything else requires authentication
                         .anyRequest().authenticated()
                 )
@@ -83,6 +91,7 @@ public class SecurityConfig {
                         .loginPage("/login") // Custom login page
                         .permitAll()
                         .defaultSuccessUrl("/", true) // Redirect after login
+                        .failureHandler(new LoginFailureHandler()) // 503 when password hashing is saturated
                 )
                 .logout(logout -> logout
                         .logoutSuccessUrl("/login?logout")
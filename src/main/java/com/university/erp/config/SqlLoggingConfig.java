@@ -0,0 +1,43 @@
+package com.university.erp.config;
+
+import com.university.erp.monitoring.SlowQueryLogger;
+import com.university.erp.monitoring.SqlParameterRedactor;
+import com.university.erp.monitoring.StatementTimingPostProcessor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Configuration
+@ConditionalOnProperty(name = "app.sql.logging.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlLoggingConfig {
+
+    @Value("${app.sql.logging.slow-threshold:200ms}")
+    private Duration slowThreshold;
+
+    @Value("${app.sql.logging.sample-rate:0}")
+    private double sampleRate;
+
+    @Value("${app.sql.logging.redacted-columns:password}")
+    private Set<String> redactedColumns;
+
+    // Static so the post-processor is registered before the DataSource is created
+    @Bean
+    public static StatementTimingPostProcessor statementTimingPostProcessor(ObjectProvider<SlowQueryLogger> slowQueryLogger) {
+        return new StatementTimingPostProcessor(slowQueryLogger);
+    }
+
+    @Bean
+    public SlowQueryLogger slowQueryLogger() {
+        Set<String> columns = redactedColumns.stream()
+                .map(column -> column.trim().toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+        return new SlowQueryLogger(slowThreshold, sampleRate, new SqlParameterRedactor(columns));
+    }
+}
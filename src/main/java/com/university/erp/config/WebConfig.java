@@ -0,0 +1,33 @@
+package com.university.erp.config;
+
+import com.university.erp.web.AdmissionControl;
+import com.university.erp.web.AdmissionInterceptor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final Environment environment;
+
+    public WebConfig(Environment environment) {
+        this.environment = environment;
+    }
+
+    /**
+     * Admission gates for the registration-day write paths; also a meter binder, so the
+     * gates' counters show up under {@code erp.admission.*}.
+     */
+    @Bean
+    public AdmissionControl admissionControl() {
+        return new AdmissionControl(environment);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new AdmissionInterceptor(admissionControl()));
+    }
+}
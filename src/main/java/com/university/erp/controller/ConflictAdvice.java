@@ -0,0 +1,39 @@
+package com.university.erp.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.servlet.ModelAndView;
+
+import java.util.Locale;
+
+/**
+ * Turns a stale write (someone else saved the row since the form was loaded) into a
+ * 409 page that links back to a fresh copy of the form, instead of a 500.
+ */
+@ControllerAdvice
+public class ConflictAdvice {
+
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ModelAndView handleConflict(ObjectOptimisticLockingFailureException ex, HttpServletRequest request) {
+        ModelAndView modelAndView = new ModelAndView("error/conflict", HttpStatus.CONFLICT);
+        modelAndView.addObject("reloadUrl", reloadUrl(ex, request));
+        return modelAndView;
+    }
+
+    // Students edit themselves through the profile page; everything else has /{entities}/edit/{id}
+    private static String reloadUrl(ObjectOptimisticLockingFailureException ex, HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.startsWith("/students/profile")) {
+            return "/students/profile";
+        }
+        String entity = ex.getPersistentClassName();
+        if (entity == null || ex.getIdentifier() == null) {
+            return "/";
+        }
+        String simpleName = entity.substring(entity.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+        return "/" + simpleName + "s/edit/" + ex.getIdentifier();
+    }
+}
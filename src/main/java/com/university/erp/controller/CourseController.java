@@ -1,33 +1,70 @@
 package com.university.erp.controller;
 
+import com.university.erp.dto.CourseRow;
+import com.university.erp.dto.ListingPage;
+import com.university.erp.dto.ListingRequest;
 import com.university.erp.entity.Course;
+import com.university.erp.entity.Department;
+import com.university.erp.entity.Teacher;
 import com.university.erp.service.CourseService;
+import com.university.erp.service.DepartmentService;
+import com.university.erp.service.TeacherService;
+import com.university.erp.web.ConditionalGet;
+import com.university.erp.web.RenderedRows;
+import com.university.erp.web.RenderedRowsCache;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.List;
 
 @Controller
+@Timed(value = "erp.controller", description = "Controller method latency", histogram = true)
 @RequestMapping("/courses")
 public class CourseController {
 
     private final CourseService courseService;
+    private final DepartmentService departmentService;
+    private final TeacherService teacherService;
+    private final RenderedRowsCache renderedRowsCache;
+    private final ConditionalGet conditionalGet;
 
-    public CourseController(CourseService courseService) {
+    public CourseController(CourseService courseService, DepartmentService departmentService,
+                            TeacherService teacherService, RenderedRowsCache renderedRowsCache,
+                            ConditionalGet conditionalGet) {
         this.courseService = courseService;
+        this.departmentService = departmentService;
+        this.teacherService = teacherService;
+        this.renderedRowsCache = renderedRowsCache;
+        this.conditionalGet = conditionalGet;
     }
 
     @GetMapping
-    public String listCourses(Model model) {
-        List<Course> courses = courseService.getAllCourses();
-        model.addAttribute("courses", courses);
+    public String listCourses(ListingRequest listing, Authentication authentication, ServletWebRequest request,
+                              Model model) {
+        // The rows show each course's department and teacher names
+        if (conditionalGet.isNotModified(request, Course.class, Department.class, Teacher.class)) {
+            return null;
+        }
+        boolean canEdit = authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_TEACHER".equals(authority.getAuthority()));
+        RenderedRows<CourseRow> rows = renderedRowsCache.get("courses/rows", Course.class, courseService, listing, canEdit,
+                Department.class, Teacher.class);
+        ListingPage<CourseRow> page = rows.page();
+        model.addAttribute("courses", page.content());
+        model.addAttribute("renderedRows", rows.html());
+        model.addAttribute("page", page);
+        model.addAttribute("listing", page.request());
         return "courses/list";
     }
 
     @GetMapping("/new")
     public String showCreateForm(Model model) {
         model.addAttribute("course", new Course());
+        addFormOptions(model);
         return "courses/form";
     }
 
@@ -38,10 +75,15 @@ public class CourseController {
     }
 
     @GetMapping("/edit/{id}")
-    public String showUpdateForm(@PathVariable Long id, Model model) {
+    public String showUpdateForm(@PathVariable Long id, ServletWebRequest request, Model model) {
         Course course = courseService.getCourseById(id)
                 .orElseThrow(() -> new RuntimeException("Course not found"));
+        if (conditionalGet.isNotModified(request, Course.class, id, course.getVersion(),
+                Department.class, Teacher.class)) {
+            return null;
+        }
         model.addAttribute("course", course);
+        addFormOptions(model);
         return "courses/form";
     }
 
@@ -56,4 +98,27 @@ public class CourseController {
         courseService.deleteCourse(id);
         return "redirect:/courses";
     }
-}
\ No newline at end of file
+
+    @PostMapping("/bulk/delete")
+    public String deleteCourses(@RequestParam(defaultValue = "") List<Long> ids) {
+        int deleted = courseService.deleteCourses(ids);
+        return "redirect:/courses?deleted=" + deleted;
+    }
+
+    @PostMapping("/bulk/delete-matching")
+    public String deleteMatchingCourses(@RequestParam String q) {
+        int deleted = courseService.deleteCoursesByName(q);
+        return "redirect:/courses?deleted=" + deleted;
+    }
+
+    @PostMapping("/bulk/credit")
+    public String updateCredits(@RequestParam(defaultValue = "") List<Long> ids, @RequestParam Float credit) {
+        int updated = courseService.updateCredits(ids, credit);
+        return "redirect:/courses?updated=" + updated;
+    }
+
+    private void addFormOptions(Model model) {
+        model.addAttribute("departments", departmentService.getAllDepartments());
+        model.addAttribute("teachers", teacherService.getAllTeachers());
+    }
+}
@@ -1,27 +1,51 @@
 package com.university.erp.controller;
 
+import com.university.erp.dto.DepartmentRow;
+import com.university.erp.dto.ListingPage;
+import com.university.erp.dto.ListingRequest;
 import com.university.erp.entity.Department;
 import com.university.erp.service.DepartmentService;
+import com.university.erp.web.ConditionalGet;
+import com.university.erp.web.RenderedRows;
+import com.university.erp.web.RenderedRowsCache;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.context.request.ServletWebRequest;
 
 @Controller
+@Timed(value = "erp.controller", description = "Controller method latency", histogram = true)
 @RequestMapping("/departments")
 public class DepartmentController {
 
     private final DepartmentService departmentService;
+    private final RenderedRowsCache renderedRowsCache;
+    private final ConditionalGet conditionalGet;
 
-    public DepartmentController(DepartmentService departmentService) {
+    public DepartmentController(DepartmentService departmentService, RenderedRowsCache renderedRowsCache,
+                                ConditionalGet conditionalGet) {
         this.departmentService = departmentService;
+        this.renderedRowsCache = renderedRowsCache;
+        this.conditionalGet = conditionalGet;
     }
 
     @GetMapping
-    public String listDepartments(Model model) {
-        List<Department> departments = departmentService.getAllDepartments();
-        model.addAttribute("departments", departments);
+    public String listDepartments(ListingRequest listing, Authentication authentication, ServletWebRequest request,
+                                  Model model) {
+        if (conditionalGet.isNotModified(request, Department.class)) {
+            return null;
+        }
+        boolean canEdit = authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_TEACHER".equals(authority.getAuthority()));
+        RenderedRows<DepartmentRow> rows = renderedRowsCache.get("departments/rows", Department.class, departmentService,
+                listing, canEdit);
+        ListingPage<DepartmentRow> page = rows.page();
+        model.addAttribute("departments", page.content());
+        model.addAttribute("renderedRows", rows.html());
+        model.addAttribute("page", page);
+        model.addAttribute("listing", page.request());
         return "departments/list";
     }
 
@@ -38,9 +62,12 @@ public class DepartmentController {
     }
 
     @GetMapping("/edit/{id}")
-    public String showUpdateForm(@PathVariable Long id, Model model) {
+    public String showUpdateForm(@PathVariable Long id, ServletWebRequest request, Model model) {
         Department department = departmentService.getDepartmentById(id)
                 .orElseThrow(() -> new RuntimeException("Department not found"));
+        if (conditionalGet.isNotModified(request, Department.class, id, department.getVersion())) {
+            return null;
+        }
         model.addAttribute("department", department);
         return "departments/form";
     }
@@ -0,0 +1,41 @@
+package com.university.erp.controller;
+
+import com.university.erp.export.ExportFormat;
+import com.university.erp.export.ExportService;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@Controller
+@Timed(value = "erp.controller", description = "Controller method latency", histogram = true)
+@RequestMapping("/export")
+public class ExportController {
+
+    private final ExportService exportService;
+
+    public ExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    @GetMapping("/{entity}")
+    public ResponseEntity<StreamingResponseBody> export(@PathVariable String entity,
+                                                        @RequestParam(defaultValue = "CSV") ExportFormat format) {
+        if (!exportService.supports(entity)) {
+            return ResponseEntity.notFound().build();
+        }
+
+        // Runs on an async thread once the headers are sent, so the first rows go out right away
+        StreamingResponseBody body = output -> exportService.export(entity, format, output);
+        ContentDisposition disposition = ContentDisposition.attachment()
+                .filename(entity + "." + format.getExtension())
+                .build();
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                .body(body);
+    }
+}
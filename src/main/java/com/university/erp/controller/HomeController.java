@@ -1,9 +1,11 @@
 package com.university.erp.controller;
 
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
 
 @Controller
+@Timed(value = "erp.controller", description = "Controller method latency", histogram = true)
 public class HomeController {
 
     @GetMapping("/")
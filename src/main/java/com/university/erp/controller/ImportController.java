@@ -0,0 +1,63 @@
+package com.university.erp.controller;
+
+import com.university.erp.importer.BulkImportService;
+import com.university.erp.importer.ImportMode;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@Controller
+@Timed(value = "erp.controller", description = "Controller method latency", histogram = true)
+@RequestMapping("/import")
+public class ImportController {
+
+    private final BulkImportService bulkImportService;
+
+    public ImportController(BulkImportService bulkImportService) {
+        this.bulkImportService = bulkImportService;
+    }
+
+    @GetMapping
+    public String showImportForm() {
+        return "import/form";
+    }
+
+    @PostMapping("/students")
+    public String importStudents(@RequestParam("file") MultipartFile file,
+                                 @RequestParam(defaultValue = "0") long skip,
+                                 @RequestParam(defaultValue = "JPA") ImportMode mode,
+                                 Model model) throws IOException {
+        // The upload is spooled to disk by the multipart resolver and read back as a stream
+        try (InputStream input = file.getInputStream()) {
+            model.addAttribute("report", bulkImportService.importStudents(input, skip, mode));
+        }
+        return "import/form";
+    }
+
+    @PostMapping("/teachers")
+    public String importTeachers(@RequestParam("file") MultipartFile file,
+                                 @RequestParam(defaultValue = "0") long skip,
+                                 @RequestParam(defaultValue = "JPA") ImportMode mode,
+                                 Model model) throws IOException {
+        try (InputStream input = file.getInputStream()) {
+            model.addAttribute("report", bulkImportService.importTeachers(input, skip, mode));
+        }
+        return "import/form";
+    }
+
+    @PostMapping("/courses")
+    public String importCourses(@RequestParam("file") MultipartFile file,
+                                @RequestParam(defaultValue = "0") long skip,
+                                @RequestParam(defaultValue = "JPA") ImportMode mode,
+                                Model model) throws IOException {
+        try (InputStream input = file.getInputStream()) {
+            model.addAttribute("report", bulkImportService.importCourses(input, skip, mode));
+        }
+        return "import/form";
+    }
+}
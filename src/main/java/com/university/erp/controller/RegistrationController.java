@@ -0,0 +1,79 @@
+package com.university.erp.controller;
+
+import com.university.erp.service.EnrollmentException;
+import com.university.erp.service.RegistrationService;
+import com.university.erp.service.StudentService;
+import com.university.erp.service.WaitlistService;
+import com.university.erp.web.AdmissionControlled;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.*;
+
+@Controller
+@Timed(value = "erp.controller", description = "Controller method latency", histogram = true)
+@RequestMapping("/registration")
+public class RegistrationController {
+
+    private final RegistrationService registrationService;
+    private final WaitlistService waitlistService;
+    private final StudentService studentService;
+
+    public RegistrationController(RegistrationService registrationService, WaitlistService waitlistService,
+                                  StudentService studentService) {
+        this.registrationService = registrationService;
+        this.waitlistService = waitlistService;
+        this.studentService = studentService;
+    }
+
+    // Course catalogue with free seats, and the logged-in student's own registrations and queue places
+    @GetMapping
+    public String showRegistration(Authentication authentication, Model model) {
+        Long studentId = currentStudentId(authentication);
+        model.addAttribute("courses", registrationService.getCourseSeats());
+        model.addAttribute("enrolledCourseIds", registrationService.getEnrolledCourseIds(studentId));
+        model.addAttribute("waitlistPositions", waitlistService.getPositions(studentId));
+        return "registration/list";
+    }
+
+    @PostMapping("/{courseId}/enroll")
+    @AdmissionControlled("enroll")
+    public String enroll(@PathVariable Long courseId, Authentication authentication) {
+        try {
+            registrationService.enroll(currentStudentId(authentication), courseId);
+        } catch (EnrollmentException ex) {
+            return "redirect:/registration?error=" + ex.getReason();
+        }
+        return "redirect:/registration?enrolled";
+    }
+
+    @PostMapping("/{courseId}/drop")
+    @AdmissionControlled("drop")
+    public String drop(@PathVariable Long courseId, Authentication authentication) {
+        registrationService.drop(currentStudentId(authentication), courseId);
+        return "redirect:/registration?dropped";
+    }
+
+    @PostMapping("/{courseId}/waitlist")
+    @AdmissionControlled("enroll")
+    public String joinWaitlist(@PathVariable Long courseId, Authentication authentication) {
+        try {
+            waitlistService.join(currentStudentId(authentication), courseId);
+        } catch (EnrollmentException ex) {
+            return "redirect:/registration?error=" + ex.getReason();
+        }
+        return "redirect:/registration?waitlisted";
+    }
+
+    @PostMapping("/{courseId}/waitlist/leave")
+    @AdmissionControlled("drop")
+    public String leaveWaitlist(@PathVariable Long courseId, Authentication authentication) {
+        waitlistService.leave(currentStudentId(authentication), courseId);
+        return "redirect:/registration?left";
+    }
+
+    private Long currentStudentId(Authentication authentication) {
+        return studentService.findByEmail(authentication.getName()).getId();
+    }
+}
@@ -1,30 +1,56 @@
 package com.university.erp.controller;
 
+import com.university.erp.dto.KeysetPage;
+import com.university.erp.dto.ListingPage;
+import com.university.erp.dto.ListingRequest;
+import com.university.erp.dto.StudentRow;
 import com.university.erp.entity.Student;
 import com.university.erp.service.StudentService;
+import com.university.erp.web.AdmissionControlled;
+import com.university.erp.web.ConditionalGet;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Controller
+@Timed(value = "erp.controller", description = "Controller method latency", histogram = true)
 @RequestMapping("/students")
 public class StudentController {
 
     private final StudentService studentService;
+    private final ConditionalGet conditionalGet;
 
-    public StudentController(StudentService studentService) {
+    public StudentController(StudentService studentService, ConditionalGet conditionalGet) {
         this.studentService = studentService;
+        this.conditionalGet = conditionalGet;
     }
 
-    // 1. List all students (GET /students)
+    // 1. List students one page at a time (GET /students)
+    //    Plain id order uses keyset cursors (?after={id} / ?before={id}); any sort or
+    //    name filter goes through the shared listing (?page=&sort=&dir=&q=)
     @GetMapping
-    public String listStudents(Model model) {
-        List<Student> students = studentService.getAllStudents();
-        model.addAttribute("students", students);
+    public String listStudents(@RequestParam(required = false) Long after,
+                               @RequestParam(required = false) Long before,
+                               ListingRequest listing,
+                               Model model) {
+        if (listing.isDefaultOrder()) {
+            KeysetPage<StudentRow> keyset = studentService.getStudentPage(after, before, listing.size());
+            model.addAttribute("students", keyset.content());
+            model.addAttribute("keyset", keyset);
+            model.addAttribute("listing", listing);
+        } else {
+            ListingPage<StudentRow> page = studentService.list(listing);
+            model.addAttribute("students", page.content());
+            model.addAttribute("page", page);
+            model.addAttribute("listing", page.request());
+        }
         return "students/list"; // Looks for src/main/resources/templates/students/list.html
     }
 
@@ -37,6 +63,7 @@ public class StudentController {
 
     // 3. Create Student (POST /students)
     @PostMapping
+    @AdmissionControlled("student-writes")
     public String createStudent(@ModelAttribute Student student) {
         studentService.createStudent(student);
         return "redirect:/students"; // Redirect to list after save (Prevents form resubmission)
@@ -44,15 +71,19 @@ public class StudentController {
 
     // 4. Show Update Form (GET /students/edit/{id})
     @GetMapping("/edit/{id}")
-    public String showUpdateForm(@PathVariable Long id, Model model) {
+    public String showUpdateForm(@PathVariable Long id, ServletWebRequest request, Model model) {
         Student student = studentService.getStudentById(id)
                 .orElseThrow(() -> new RuntimeException("Student not found"));
+        if (conditionalGet.isNotModified(request, Student.class, id, student.getVersion())) {
+            return null;
+        }
         model.addAttribute("student", student);
         return "students/form"; // Reuse the same form for create and update
     }
 
     // 5. Update Student (POST /students/update)
     @PostMapping("/update")
+    @AdmissionControlled("student-writes")
     public String updateStudent(@ModelAttribute Student student) {
         studentService.updateStudent(student.getId(), student);
         return "redirect:/students";
@@ -60,31 +91,65 @@ public class StudentController {
 
     // 6. Delete Student (GET /students/delete/{id}) I will use DELETE later
     @GetMapping("/delete/{id}")
+    @AdmissionControlled("student-writes")
     public String deleteStudent(@PathVariable Long id) {
         studentService.deleteStudent(id);
         return "redirect:/students";
     }
 
+    // 7. Delete the checked rows (POST /students/bulk/delete) with one statement
+    @PostMapping("/bulk/delete")
+    @AdmissionControlled("student-writes")
+    public String deleteStudents(@RequestParam(defaultValue = "") List<Long> ids) {
+        int deleted = studentService.deleteStudents(ids);
+        return "redirect:/students?deleted=" + deleted;
+    }
+
+    // 8. Delete every student the name filter matches (POST /students/bulk/delete-matching)
+    @PostMapping("/bulk/delete-matching")
+    @AdmissionControlled("student-writes")
+    public String deleteMatchingStudents(@RequestParam String q) {
+        int deleted = studentService.deleteStudentsByName(q);
+        return "redirect:/students?deleted=" + deleted;
+    }
+
+    // Answers 304 while the student's own row is unchanged since the browser's copy of this session's page
     @GetMapping("/profile")
-    public String showProfile(Model model) {
+    public String showProfile(ServletWebRequest request, Model model) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         String email = auth.getName();
 
-        Student currentStudent = studentService.findByEmail(email);
+        AtomicReference<Student> loaded = new AtomicReference<>();
+        if (conditionalGet.isNotModified(request, Student.class, () -> {
+            Student student = studentService.findByEmail(email);
+            loaded.set(student);
+            return new ConditionalGet.RowVersion(student.getId(), student.getVersion());
+        })) {
+            return null;
+        }
+
+        Student currentStudent = loaded.get() != null ? loaded.get() : studentService.findByEmail(email);
 
         model.addAttribute("student", currentStudent);
         return "students/profile";
     }
 
     @PostMapping("/profile/update")
+    @AdmissionControlled("student-writes")
     public String updateProfile(@ModelAttribute Student studentDetails) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         String email = auth.getName();
 
         Student currentStudent = studentService.findByEmail(email);
 
-        currentStudent.setName(studentDetails.getName());
-        studentService.updateStudent(currentStudent.getId(), currentStudent);
+        // A copy, not the loaded row: with open-in-view that row is the managed entity updateStudent
+        // loads again, so giving it the submitted version would check that version against itself
+        Student changes = new Student();
+        changes.setName(studentDetails.getName());
+        changes.setRoll(currentStudent.getRoll());
+        changes.setEmail(currentStudent.getEmail());
+        changes.setVersion(studentDetails.getVersion());
+        studentService.updateStudent(currentStudent.getId(), changes);
 
         return "redirect:/students/profile?success";
     }
@@ -1,33 +1,56 @@
 package com.university.erp.controller;
 
+import com.university.erp.dto.ListingPage;
+import com.university.erp.dto.ListingRequest;
+import com.university.erp.dto.TeacherRow;
+import com.university.erp.entity.Department;
 import com.university.erp.entity.Teacher;
+import com.university.erp.service.CourseService;
+import com.university.erp.service.DepartmentService;
 import com.university.erp.service.TeacherService;
+import com.university.erp.web.ConditionalGet;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.List;
 
 @Controller
+@Timed(value = "erp.controller", description = "Controller method latency", histogram = true)
 @RequestMapping("/teachers")
 public class TeacherController {
 
     private final TeacherService teacherService;
+    private final CourseService courseService;
+    private final DepartmentService departmentService;
+    private final ConditionalGet conditionalGet;
 
-    public TeacherController(TeacherService teacherService) {
+    public TeacherController(TeacherService teacherService, CourseService courseService,
+                             DepartmentService departmentService, ConditionalGet conditionalGet) {
         this.teacherService = teacherService;
+        this.courseService = courseService;
+        this.departmentService = departmentService;
+        this.conditionalGet = conditionalGet;
     }
 
     @GetMapping
-    public String listTeachers(Model model) {
-        List<Teacher> teachers = teacherService.getAllTeachers();
-        model.addAttribute("teachers", teachers);
+    public String listTeachers(ListingRequest listing, Model model) {
+        ListingPage<TeacherRow> page = teacherService.list(listing);
+        model.addAttribute("teachers", page.content());
+        // One query for the courses of the whole page, not one per teacher
+        List<Long> teacherIds = page.content().stream().map(TeacherRow::id).toList();
+        model.addAttribute("courseCodesByTeacher", courseService.getCourseCodesByTeacher(teacherIds));
+        model.addAttribute("page", page);
+        model.addAttribute("listing", page.request());
         return "teachers/list";
     }
 
     @GetMapping("/new")
     public String showCreateForm(Model model) {
         model.addAttribute("teacher", new Teacher());
+        model.addAttribute("departments", departmentService.getAllDepartments());
         return "teachers/form";
     }
 
@@ -38,10 +61,14 @@ public class TeacherController {
     }
 
     @GetMapping("/edit/{id}")
-    public String showUpdateForm(@PathVariable Long id, Model model) {
+    public String showUpdateForm(@PathVariable Long id, ServletWebRequest request, Model model) {
         Teacher teacher = teacherService.getTeacherById(id)
                 .orElseThrow(() -> new RuntimeException("Teacher not found"));
+        if (conditionalGet.isNotModified(request, Teacher.class, id, teacher.getVersion(), Department.class)) {
+            return null;
+        }
         model.addAttribute("teacher", teacher);
+        model.addAttribute("departments", departmentService.getAllDepartments());
         return "teachers/form";
     }
 
@@ -56,4 +83,16 @@ public class TeacherController {
         teacherService.deleteTeacher(id);
         return "redirect:/teachers";
     }
+
+    @PostMapping("/bulk/delete")
+    public String deleteTeachers(@RequestParam(defaultValue = "") List<Long> ids) {
+        int deleted = teacherService.deleteTeachers(ids);
+        return "redirect:/teachers?deleted=" + deleted;
+    }
+
+    @PostMapping("/bulk/delete-matching")
+    public String deleteMatchingTeachers(@RequestParam String q) {
+        int deleted = teacherService.deleteTeachersByName(q);
+        return "redirect:/teachers?deleted=" + deleted;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.university.erp.controller;
+
+import com.university.erp.web.AdmissionRejectedException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.servlet.ModelAndView;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Answers a request turned away by an admission gate with a 503 waiting-room page: the
+ * user's estimated place in line, and a form that sends the same request again once the
+ * {@code Retry-After} has passed. Nothing of the request was executed.
+ */
+@ControllerAdvice
+public class WaitingRoomAdvice {
+
+    private static final String CSRF_PARAMETER = "_csrf";
+
+    @ExceptionHandler(AdmissionRejectedException.class)
+    public ModelAndView handleRejected(AdmissionRejectedException ex, HttpServletRequest request,
+                                       HttpServletResponse response) {
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()));
+
+        ModelAndView modelAndView = new ModelAndView("error/waiting-room", HttpStatus.SERVICE_UNAVAILABLE);
+        modelAndView.addObject("position", ex.getPosition());
+        modelAndView.addObject("retryAfterSeconds", ex.getRetryAfterSeconds());
+        modelAndView.addObject("retryUrl", request.getRequestURI().substring(request.getContextPath().length()));
+        modelAndView.addObject("retryMethod", request.getMethod().toLowerCase(Locale.ROOT));
+        modelAndView.addObject("parameters", resubmittedParameters(request));
+        return modelAndView;
+    }
+
+    // The retry form carries a fresh CSRF token of its own
+    private static Map<String, String[]> resubmittedParameters(HttpServletRequest request) {
+        Map<String, String[]> parameters = new LinkedHashMap<>(request.getParameterMap());
+        parameters.remove(CSRF_PARAMETER);
+        return parameters;
+    }
+}
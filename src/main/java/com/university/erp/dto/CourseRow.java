@@ -0,0 +1,9 @@
+package com.university.erp.dto;
+
+/**
+ * A course as the list page shows it, with the names of its department and teacher
+ * joined in by the same query.
+ */
+public record CourseRow(Long id, String name, String code, Float credit, String departmentName,
+                        String teacherName) {
+}
@@ -0,0 +1,18 @@
+package com.university.erp.dto;
+
+/**
+ * A course as the registration page shows it, with the seats already taken and whether
+ * students are waiting for a seat.
+ */
+public record CourseSeatView(Long id, String code, String name, Float credit, Integer capacity, Integer taken,
+                             Boolean waitlisted) {
+
+    // Seats freed while students are waiting are theirs, not open to new registrations
+    public int available() {
+        return waitlisted ? 0 : Math.max(0, capacity - taken);
+    }
+
+    public boolean isFull() {
+        return available() == 0;
+    }
+}
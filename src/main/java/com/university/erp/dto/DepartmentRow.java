@@ -0,0 +1,7 @@
+package com.university.erp.dto;
+
+/**
+ * A department as the list page shows it.
+ */
+public record DepartmentRow(Long id, String name) {
+}
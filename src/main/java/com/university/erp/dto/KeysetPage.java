@@ -0,0 +1,19 @@
+package com.university.erp.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset (seek) listing. The cursors are the ids of the last and
+ * first rows on the page, or {@code null} when there is nothing further in
+ * that direction.
+ */
+public record KeysetPage<T>(List<T> content, int size, Long prevCursor, Long nextCursor) {
+
+    public boolean hasPrevious() {
+        return prevCursor != null;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
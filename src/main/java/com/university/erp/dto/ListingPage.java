@@ -0,0 +1,12 @@
+package com.university.erp.dto;
+
+import java.util.List;
+
+/**
+ * One page of a sorted/filtered listing. {@code request} is the resolved request
+ * that produced the page, so templates can build pager and sort links from it.
+ * There is deliberately no total count: the list pages only need to know whether
+ * a neighbouring page exists.
+ */
+public record ListingPage<T>(List<T> content, ListingRequest request, boolean hasPrevious, boolean hasNext) {
+}
@@ -0,0 +1,32 @@
+package com.university.erp.dto;
+
+/**
+ * Paging, sorting and name-filter parameters of a list page, bound straight from
+ * the query string ({@code ?page=0&size=20&sort=name&dir=asc&q=Al}). Any of them
+ * may be missing; {@code ListingService.resolve} fills in the defaults.
+ */
+public record ListingRequest(Integer page, Integer size, String sort, String dir, String q) {
+
+    public static ListingRequest defaults() {
+        return new ListingRequest(null, null, null, null, null);
+    }
+
+    public boolean isFiltered() {
+        return q != null && !q.isBlank();
+    }
+
+    public boolean isDescending() {
+        return "desc".equalsIgnoreCase(dir);
+    }
+
+    /**
+     * True when the request asks for nothing but the natural id order, which lets
+     * callers use a cheaper access path (e.g. keyset pagination).
+     */
+    public boolean isDefaultOrder() {
+        return (sort == null || sort.isBlank() || "id".equals(sort))
+                && !isDescending()
+                && (page == null || page == 0)
+                && !isFiltered();
+    }
+}
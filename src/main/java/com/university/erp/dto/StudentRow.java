@@ -0,0 +1,8 @@
+package com.university.erp.dto;
+
+/**
+ * A student as the list page shows it. Selected column by column, so the password hash
+ * never leaves the database and nothing enters the persistence context.
+ */
+public record StudentRow(Long id, String name, Integer roll, String email) {
+}
@@ -0,0 +1,7 @@
+package com.university.erp.dto;
+
+/**
+ * The code of a course and the id of the teacher who teaches it, for the teachers page.
+ */
+public record TaughtCourse(Long teacherId, String code) {
+}
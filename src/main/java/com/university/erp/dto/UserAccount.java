@@ -0,0 +1,13 @@
+package com.university.erp.dto;
+
+/**
+ * Login credentials of a student or teacher, as read by {@code UserAccountRepository}.
+ */
+public interface UserAccount {
+
+    String getEmail();
+
+    String getPassword();
+
+    String getRole();
+}
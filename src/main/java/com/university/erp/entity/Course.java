@@ -3,15 +3,25 @@ package com.university.erp.entity;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
 @Entity
-@Table(name = "courses")
+@DynamicUpdate
+@Table(name = "courses", indexes = {
+        @Index(name = "idx_courses_department", columnList = "department_id"),
+        @Index(name = "idx_courses_teacher", columnList = "teacher_id")})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "courses")
 @Getter
 @Setter
 public class Course {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "courses_seq")
+    @SequenceGenerator(name = "courses_seq", sequenceName = "courses_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -22,4 +32,23 @@ public class Course {
 
     @Column(nullable = false)
     private Float credit;
+
+    // Seats on offer; how many are taken is counted in CourseSeats, away from this cached row
+    @ColumnDefault("60")
+    @Column(nullable = false)
+    private Integer capacity = 60;
+
+    // Lazy like every association here; the list page asks for both in its own query
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "department_id", foreignKey = @ForeignKey(name = "fk_courses_department"))
+    private Department department;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "teacher_id", foreignKey = @ForeignKey(name = "fk_courses_teacher"))
+    private Teacher teacher;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
 }
@@ -0,0 +1,42 @@
+package com.university.erp.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * Seats taken in a course. Kept out of {@link Course} on purpose: on registration day this
+ * row is written thousands of times a second, and every write to the course row would evict
+ * it from the second-level cache and bump its version under open edit forms.
+ * <p>
+ * Only changed through the conditional statements in {@code CourseSeatsRepository}, never
+ * read-modify-written, so it needs no version column. The row is created together with its
+ * course, so registrations only ever update it.
+ */
+@Entity
+@Table(name = "course_seats")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class CourseSeats {
+
+    @Id
+    @Column(name = "course_id")
+    private Long courseId;
+
+    // Shares the course's id; a new counter has none yet, so saving it persists without a select
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "course_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Course course;
+
+    @Column(nullable = false)
+    private int taken;
+
+    public CourseSeats(Course course) {
+        this.course = course;
+    }
+}
@@ -0,0 +1,37 @@
+package com.university.erp.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "enrollments",
+        // One seat per student per course; the unique index also serves lookups by student
+        uniqueConstraints = @UniqueConstraint(name = "uk_enrollments_student_course", columnNames = {"student_id", "course_id"}),
+        indexes = @Index(name = "idx_enrollments_course", columnList = "course_id"))
+@Getter
+@Setter
+public class Enrollment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "enrollments_seq")
+    @SequenceGenerator(name = "enrollments_seq", sequenceName = "enrollments_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "student_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Student student;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "course_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Course course;
+
+    @Column(name = "enrolled_at", nullable = false)
+    private Instant enrolledAt;
+}
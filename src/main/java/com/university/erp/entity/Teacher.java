@@ -3,15 +3,19 @@ package com.university.erp.entity;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
 @Entity
-@Table(name = "teachers")
+@DynamicUpdate
+@Table(name = "teachers", indexes = @Index(name = "idx_teachers_department", columnList = "department_id"))
 @Getter
 @Setter
 public class Teacher {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "teachers_seq")
+    @SequenceGenerator(name = "teachers_seq", sequenceName = "teachers_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -28,4 +32,13 @@ public class Teacher {
 
     @Column(nullable = false)
     private String role = "TEACHER";
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "department_id", foreignKey = @ForeignKey(name = "fk_teachers_department"))
+    private Department department;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
 }
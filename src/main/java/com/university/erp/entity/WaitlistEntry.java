@@ -0,0 +1,42 @@
+package com.university.erp.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.Instant;
+
+/**
+ * A student waiting for a seat in a full course. Students are promoted in the order they
+ * queued, oldest first; the id breaks ties between entries queued in the same instant.
+ */
+@Entity
+@Table(name = "waitlist_entries",
+        uniqueConstraints = @UniqueConstraint(name = "uk_waitlist_student_course", columnNames = {"student_id", "course_id"}),
+        // Queue order within a course: the head of the queue and a student's position are
+        // read as range scans of this index, however long the queue gets
+        indexes = @Index(name = "idx_waitlist_course_queue", columnList = "course_id, queued_at, id"))
+@Getter
+@Setter
+public class WaitlistEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "waitlist_entries_seq")
+    @SequenceGenerator(name = "waitlist_entries_seq", sequenceName = "waitlist_entries_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "student_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Student student;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "course_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Course course;
+
+    @Column(name = "queued_at", nullable = false)
+    private Instant queuedAt;
+}
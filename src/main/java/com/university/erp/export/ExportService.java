@@ -0,0 +1,192 @@
+package com.university.erp.export;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.erp.entity.Course;
+import com.university.erp.entity.Department;
+import com.university.erp.entity.Student;
+import com.university.erp.entity.Teacher;
+import com.university.erp.repository.CourseRepository;
+import com.university.erp.repository.DepartmentRepository;
+import com.university.erp.repository.StreamingRepository;
+import com.university.erp.repository.StudentRepository;
+import com.university.erp.repository.TeacherRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Writes whole tables as CSV or NDJSON while reading them through a database
+ * cursor. Each row is written and then detached, so memory use does not grow
+ * with the table size. Passwords are never exported.
+ */
+@Service
+public class ExportService {
+
+    // Push bytes to the client regularly instead of only when the buffer fills
+    private static final int FLUSH_EVERY_ROWS = 1000;
+
+    private final Map<String, Exporter<?>> exporters;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public ExportService(StudentRepository studentRepository, TeacherRepository teacherRepository,
+                         CourseRepository courseRepository, DepartmentRepository departmentRepository,
+                         EntityManager entityManager, ObjectMapper objectMapper,
+                         PlatformTransactionManager transactionManager) {
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+
+        this.exporters = Map.of(
+                "students", new Exporter<>(studentRepository, List.of(
+                        new Column<>("id", Student::getId),
+                        new Column<>("name", Student::getName),
+                        new Column<>("roll", Student::getRoll),
+                        new Column<>("email", Student::getEmail),
+                        new Column<>("role", Student::getRole))),
+                "teachers", new Exporter<>(teacherRepository, List.of(
+                        new Column<>("id", Teacher::getId),
+                        new Column<>("name", Teacher::getName),
+                        new Column<>("employee_id", Teacher::getEmployeeId),
+                        new Column<>("email", Teacher::getEmail),
+                        new Column<>("role", Teacher::getRole))),
+                "courses", new Exporter<>(courseRepository, List.of(
+                        new Column<>("id", Course::getId),
+                        new Column<>("name", Course::getName),
+                        new Column<>("code", Course::getCode),
+                        new Column<>("credit", Course::getCredit))),
+                "departments", new Exporter<>(departmentRepository, List.of(
+                        new Column<>("id", Department::getId),
+                        new Column<>("name", Department::getName))));
+    }
+
+    public Set<String> getEntities() {
+        return exporters.keySet();
+    }
+
+    public boolean supports(String entity) {
+        return exporters.containsKey(entity);
+    }
+
+    /**
+     * Streams every row of {@code entity} to {@code output} in id order. Runs in its
+     * own read-only transaction, so it can be called from a
+     * {@code StreamingResponseBody} on an async thread.
+     */
+    public void export(String entity, ExportFormat format, OutputStream output) throws IOException {
+        Exporter<?> exporter = exporters.get(entity);
+        if (exporter == null) {
+            throw new IllegalArgumentException("Unknown export: " + entity);
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try {
+                    if (format == ExportFormat.CSV) {
+                        writeCsv(exporter, output);
+                    } else {
+                        writeNdjson(exporter, output);
+                    }
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        } catch (UncheckedIOException ex) {
+            // Usually the client went away; surface it as the IOException it is
+            throw ex.getCause();
+        }
+    }
+
+    private <T> void writeCsv(Exporter<T> exporter, OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        writer.write(String.join(",", exporter.columns().stream().map(Column::name).toList()));
+        writer.write("\r\n");
+        writer.flush();
+
+        forEachRow(exporter, writer::flush, row -> {
+            for (int i = 0; i < exporter.columns().size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(csvValue(exporter.columns().get(i).value().apply(row)));
+            }
+            writer.write("\r\n");
+        });
+        writer.flush();
+    }
+
+    private <T> void writeNdjson(Exporter<T> exporter, OutputStream output) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(output, JsonEncoding.UTF8);
+        // One object per line, no separator between root values other than our newline
+        generator.setRootValueSeparator(null);
+
+        forEachRow(exporter, generator::flush, row -> {
+            generator.writeStartObject();
+            for (Column<T> column : exporter.columns()) {
+                generator.writeObjectField(column.name(), column.value().apply(row));
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        });
+        generator.flush();
+    }
+
+    private <T> void forEachRow(Exporter<T> exporter, IoAction flush, RowWriter<T> rowWriter) throws IOException {
+        try (Stream<T> rows = exporter.repository().streamAllByOrderByIdAsc()) {
+            long count = 0;
+            for (T row : (Iterable<T>) rows::iterator) {
+                rowWriter.write(row);
+                // Written out already; keep the persistence context from holding every row
+                entityManager.detach(row);
+                if (++count % FLUSH_EVERY_ROWS == 0) {
+                    flush.run();
+                }
+            }
+        }
+    }
+
+    static String csvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+
+    private record Column<T>(String name, Function<T, Object> value) {
+    }
+
+    private record Exporter<T>(StreamingRepository<T, Long> repository, List<Column<T>> columns) {
+    }
+
+    @FunctionalInterface
+    private interface RowWriter<T> {
+        void write(T row) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface IoAction {
+        void run() throws IOException;
+    }
+}
@@ -0,0 +1,562 @@
+package com.university.erp.importer;
+
+import com.university.erp.entity.Course;
+import com.university.erp.entity.CourseSeats;
+import com.university.erp.entity.Student;
+import com.university.erp.entity.Teacher;
+import com.university.erp.repository.CourseRepository;
+import com.university.erp.repository.CourseSeatsRepository;
+import com.university.erp.repository.StudentRepository;
+import com.university.erp.repository.TeacherRepository;
+import com.university.erp.security.BoundedPasswordEncoder;
+import com.university.erp.service.EntityChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Streams student, teacher and course CSV files into the database in chunks.
+ * Each chunk is validated, de-duplicated against the database, hashed in
+ * parallel and written in its own transaction, so a failure only loses the
+ * chunk in flight and the import can be resumed from
+ * {@link ImportReport#getCommittedRows()}.
+ */
+@Service
+public class BulkImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkImportService.class);
+
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+    private static final Pattern BCRYPT = Pattern.compile("^\\$2[aby]?\\$\\d{2}\\$[./A-Za-z0-9]{53}$");
+
+    // Must match the allocationSize of the entities' @SequenceGenerator
+    private static final int ID_ALLOCATION_SIZE = 50;
+
+    private final StudentRepository studentRepository;
+    private final TeacherRepository teacherRepository;
+    private final CourseRepository courseRepository;
+    private final CourseSeatsRepository courseSeatsRepository;
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final PostgresCopyWriter copyWriter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.import.chunk-size:1000}")
+    private int chunkSize = 1000;
+
+    @Value("${app.import.hashing-threads:0}")
+    private int hashingThreads = 0;
+
+    @Value("${app.import.max-errors:100}")
+    private int maxErrors = 100;
+
+    public BulkImportService(StudentRepository studentRepository, TeacherRepository teacherRepository,
+                             CourseRepository courseRepository, CourseSeatsRepository courseSeatsRepository,
+                             BoundedPasswordEncoder passwordEncoder, PostgresCopyWriter copyWriter,
+                             ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager) {
+        this.studentRepository = studentRepository;
+        this.teacherRepository = teacherRepository;
+        this.courseRepository = courseRepository;
+        this.courseSeatsRepository = courseSeatsRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.copyWriter = copyWriter;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Imports students from a CSV with the columns {@code name, roll, email, password}.
+     *
+     * @param skipRows data rows to skip, typically the committed row count of an earlier run
+     */
+    public ImportReport importStudents(InputStream input, long skipRows, ImportMode mode) {
+        return run(new StudentTarget(), input, skipRows, mode);
+    }
+
+    /**
+     * Imports teachers from a CSV with the columns {@code name, employee_id, email, password}.
+     *
+     * @param skipRows data rows to skip, typically the committed row count of an earlier run
+     */
+    public ImportReport importTeachers(InputStream input, long skipRows, ImportMode mode) {
+        return run(new TeacherTarget(), input, skipRows, mode);
+    }
+
+    /**
+     * Imports courses from a CSV with the columns {@code name, code, credit}.
+     *
+     * @param skipRows data rows to skip, typically the committed row count of an earlier run
+     */
+    public ImportReport importCourses(InputStream input, long skipRows, ImportMode mode) {
+        return run(new CourseTarget(), input, skipRows, mode);
+    }
+
+    private <T> ImportReport run(ImportTarget<T> target, InputStream input, long skipRows, ImportMode requestedMode) {
+        // COPY is PostgreSQL-only; anywhere else (H2 in tests) the JPA path does the same job
+        ImportMode mode = requestedMode == ImportMode.COPY && !copyWriter.isAvailable() ? ImportMode.JPA : requestedMode;
+        ImportReport report = new ImportReport(target.name(), mode, maxErrors);
+        report.resumeFrom(skipRows);
+
+        int threads = hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors();
+        ExecutorService hashingPool = Executors.newFixedThreadPool(threads);
+
+        try (CsvReader csv = new CsvReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            Map<String, Integer> header = readHeader(csv, target);
+            List<Pending<T>> chunk = new ArrayList<>(chunkSize);
+            long row = 0;
+            boolean committed = true;
+
+            List<String> record;
+            while (committed && (record = csv.readRecord()) != null) {
+                row++;
+                if (row <= skipRows) {
+                    continue;
+                }
+                report.rowRead();
+                try {
+                    chunk.add(new Pending<>(row, target.parse(new Row(header, record))));
+                } catch (IllegalArgumentException ex) {
+                    report.reject(row, ex.getMessage());
+                }
+
+                if (chunk.size() == chunkSize) {
+                    committed = writeChunk(target, mode, chunk, row, report, hashingPool);
+                }
+            }
+            if (committed && row > report.getCommittedRows()) {
+                writeChunk(target, mode, chunk, row, report, hashingPool);
+            }
+        } catch (IOException | IllegalArgumentException ex) {
+            report.fail(ex.getMessage());
+        } finally {
+            hashingPool.shutdownNow();
+        }
+
+        log.info("Imported {} {} via {} ({} rejected) in {} chunks{}", report.getImported(), target.name(), mode,
+                report.getRejected(), report.getChunksCommitted(),
+                report.isFailed() ? ", stopped: " + report.getFailure() : "");
+        return report;
+    }
+
+    private Map<String, Integer> readHeader(CsvReader csv, ImportTarget<?> target) throws IOException {
+        List<String> record = csv.readRecord();
+        if (record == null) {
+            throw new IllegalArgumentException("The file is empty");
+        }
+
+        Map<String, Integer> header = new HashMap<>();
+        for (int i = 0; i < record.size(); i++) {
+            header.put(normalize(record.get(i)), i);
+        }
+        for (String column : target.columns()) {
+            if (!header.containsKey(normalize(column))) {
+                throw new IllegalArgumentException("Missing column: " + column);
+            }
+        }
+        return header;
+    }
+
+    /**
+     * Drops duplicates, hashes the remaining passwords and writes them in one
+     * transaction. Returns false (and records the failure) if the chunk could not
+     * be committed, which stops the import.
+     */
+    private <T> boolean writeChunk(ImportTarget<T> target, ImportMode mode, List<Pending<T>> chunk, long lastRow,
+                                   ImportReport report, ExecutorService hashingPool) {
+        try {
+            List<Pending<T>> accepted = chunk;
+            for (UniqueKey<T, ?> key : target.uniqueKeys()) {
+                accepted = removeDuplicates(key, accepted, report);
+            }
+            hashPasswords(target, accepted, hashingPool);
+
+            List<T> entities = accepted.stream().map(Pending::entity).toList();
+            Integer written = transactionTemplate.execute(status -> {
+                eventPublisher.publishEvent(new EntityChangedEvent(target.entityType()));
+                if (mode == ImportMode.COPY) {
+                    int copied = copyWriter.write(target.copyTable(), entities.stream().map(target::copyRow).toList());
+                    target.afterCopy();
+                    return copied;
+                }
+                target.saveAll(entities);
+                return entities.size();
+            });
+
+            if (written != null && written < entities.size()) {
+                // Inserted by someone else after the duplicate check; ON CONFLICT skipped them
+                report.reject(lastRow, (entities.size() - written) + " rows up to here already existed and were skipped");
+            }
+            report.chunkCommitted(lastRow, written == null ? 0 : written);
+            return true;
+        } catch (RuntimeException ex) {
+            report.fail("Rows " + (report.getCommittedRows() + 1) + "-" + lastRow + " were not imported: "
+                    + ex.getMessage());
+            return false;
+        } finally {
+            chunk.clear();
+        }
+    }
+
+    private <T, K> List<Pending<T>> removeDuplicates(UniqueKey<T, K> key, List<Pending<T>> rows, ImportReport report) {
+        if (rows.isEmpty()) {
+            return rows;
+        }
+
+        Set<K> values = new HashSet<>();
+        rows.forEach(pending -> values.add(key.value().apply(pending.entity())));
+
+        // Earlier chunks are already committed, so this also catches repeats across the file
+        Set<K> taken = new HashSet<>(key.existing().apply(values));
+
+        List<Pending<T>> accepted = new ArrayList<>(rows.size());
+        for (Pending<T> pending : rows) {
+            K value = key.value().apply(pending.entity());
+            if (taken.add(value)) {
+                accepted.add(pending);
+            } else {
+                report.reject(pending.row(), "Duplicate " + key.label() + ": " + value);
+            }
+        }
+        return accepted;
+    }
+
+    private <T> void hashPasswords(ImportTarget<T> target, List<Pending<T>> rows, ExecutorService hashingPool) {
+        // Bulk hashing sizes its own pool and must not queue behind (or block) logins
+        PasswordEncoder encoder = passwordEncoder.unbounded();
+
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (Pending<T> pending : rows) {
+            String password = target.password(pending.entity());
+            if (password != null && !BCRYPT.matcher(password).matches()) {
+                tasks.add(() -> {
+                    target.setPassword(pending.entity(), encoder.encode(password));
+                    return null;
+                });
+            }
+        }
+
+        try {
+            for (Future<Void> future : hashingPool.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing passwords", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Password hashing failed", ex.getCause());
+        }
+    }
+
+    private static String normalize(String column) {
+        // "employee_id", "Employee ID" and "employeeId" all name the same column; also drop a UTF-8 BOM
+        return column.replace("\uFEFF", "").replaceAll("[^A-Za-z0-9]", "").toLowerCase(Locale.ROOT);
+    }
+
+    private static LinkedHashMap<String, String> copyColumns(String... namesAndTypes) {
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        for (int i = 0; i < namesAndTypes.length; i += 2) {
+            columns.put(namesAndTypes[i], namesAndTypes[i + 1]);
+        }
+        return columns;
+    }
+
+    private record Pending<T>(long row, T entity) {
+    }
+
+    /**
+     * A unique column: how to read it from a parsed row and which of a set of
+     * values already exist in the database.
+     */
+    private record UniqueKey<T, K>(String label, Function<T, K> value,
+                                   Function<Collection<K>, Collection<K>> existing) {
+    }
+
+    private record Row(Map<String, Integer> header, List<String> values) {
+
+        String required(String column, int maxLength) {
+            Integer index = header.get(normalize(column));
+            String value = index != null && index < values.size() ? values.get(index).trim() : "";
+            if (value.isEmpty()) {
+                throw new IllegalArgumentException("Missing " + column);
+            }
+            if (value.length() > maxLength) {
+                throw new IllegalArgumentException(column + " is longer than " + maxLength + " characters");
+            }
+            return value;
+        }
+
+        Integer number(String column) {
+            String value = required(column, 10);
+            try {
+                return Integer.valueOf(value);
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException(column + " is not a number: " + value);
+            }
+        }
+
+        Float decimal(String column) {
+            String value = required(column, 10);
+            try {
+                return Float.valueOf(value);
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException(column + " is not a number: " + value);
+            }
+        }
+
+        String email(String column, int maxLength) {
+            String value = required(column, maxLength).toLowerCase(Locale.ROOT);
+            if (!EMAIL.matcher(value).matches()) {
+                throw new IllegalArgumentException("Invalid email: " + value);
+            }
+            return value;
+        }
+    }
+
+    /**
+     * What differs between the imported entities: columns, parsing, unique keys,
+     * the repository call for the JPA path and the table layout for COPY.
+     */
+    private interface ImportTarget<T> {
+
+        String name();
+
+        Class<T> entityType();
+
+        List<String> columns();
+
+        T parse(Row row);
+
+        List<UniqueKey<T, ?>> uniqueKeys();
+
+        /** Plain-text or pre-hashed password, or null for entities without one. */
+        default String password(T entity) {
+            return null;
+        }
+
+        default void setPassword(T entity, String password) {
+        }
+
+        void saveAll(List<T> entities);
+
+        CopyTable copyTable();
+
+        /** Runs in the chunk's transaction after a COPY, for rows that go with the copied ones. */
+        default void afterCopy() {
+        }
+
+        /** Values in {@link CopyTable#columns()} order. */
+        List<Object> copyRow(T entity);
+    }
+
+    private class StudentTarget implements ImportTarget<Student> {
+
+        private final CopyTable copyTable = new CopyTable("students", "students_seq", ID_ALLOCATION_SIZE,
+                copyColumns("name", "varchar(50)", "roll", "integer", "email", "varchar(50)", "password", "varchar(255)"),
+                Map.of("role", "'STUDENT'", "version", "0"));
+
+        @Override
+        public String name() {
+            return "students";
+        }
+
+        @Override
+        public Class<Student> entityType() {
+            return Student.class;
+        }
+
+        @Override
+        public List<String> columns() {
+            return List.of("name", "roll", "email", "password");
+        }
+
+        @Override
+        public Student parse(Row row) {
+            Student student = new Student();
+            student.setName(row.required("name", 50));
+            student.setRoll(row.number("roll"));
+            student.setEmail(row.email("email", 50));
+            student.setPassword(row.required("password", 255));
+            return student;
+        }
+
+        @Override
+        public List<UniqueKey<Student, ?>> uniqueKeys() {
+            return List.of(
+                    new UniqueKey<>("email", Student::getEmail, studentRepository::findExistingEmails),
+                    new UniqueKey<>("roll", Student::getRoll, studentRepository::findExistingRolls));
+        }
+
+        @Override
+        public String password(Student student) {
+            return student.getPassword();
+        }
+
+        @Override
+        public void setPassword(Student student, String password) {
+            student.setPassword(password);
+        }
+
+        @Override
+        public void saveAll(List<Student> students) {
+            studentRepository.saveAll(students);
+        }
+
+        @Override
+        public CopyTable copyTable() {
+            return copyTable;
+        }
+
+        @Override
+        public List<Object> copyRow(Student student) {
+            return List.of(student.getName(), student.getRoll(), student.getEmail(), student.getPassword());
+        }
+    }
+
+    private class TeacherTarget implements ImportTarget<Teacher> {
+
+        private final CopyTable copyTable = new CopyTable("teachers", "teachers_seq", ID_ALLOCATION_SIZE,
+                copyColumns("name", "varchar(255)", "employee_id", "integer", "email", "varchar(255)", "password", "varchar(255)"),
+                Map.of("role", "'TEACHER'", "version", "0"));
+
+        @Override
+        public String name() {
+            return "teachers";
+        }
+
+        @Override
+        public Class<Teacher> entityType() {
+            return Teacher.class;
+        }
+
+        @Override
+        public List<String> columns() {
+            return List.of("name", "employee_id", "email", "password");
+        }
+
+        @Override
+        public Teacher parse(Row row) {
+            Teacher teacher = new Teacher();
+            teacher.setName(row.required("name", 255));
+            teacher.setEmployeeId(row.number("employee_id"));
+            teacher.setEmail(row.email("email", 255));
+            teacher.setPassword(row.required("password", 255));
+            return teacher;
+        }
+
+        @Override
+        public List<UniqueKey<Teacher, ?>> uniqueKeys() {
+            return List.of(
+                    new UniqueKey<>("email", Teacher::getEmail, teacherRepository::findExistingEmails),
+                    new UniqueKey<>("employee id", Teacher::getEmployeeId, teacherRepository::findExistingEmployeeIds));
+        }
+
+        @Override
+        public String password(Teacher teacher) {
+            return teacher.getPassword();
+        }
+
+        @Override
+        public void setPassword(Teacher teacher, String password) {
+            teacher.setPassword(password);
+        }
+
+        @Override
+        public void saveAll(List<Teacher> teachers) {
+            teacherRepository.saveAll(teachers);
+        }
+
+        @Override
+        public CopyTable copyTable() {
+            return copyTable;
+        }
+
+        @Override
+        public List<Object> copyRow(Teacher teacher) {
+            return List.of(teacher.getName(), teacher.getEmployeeId(), teacher.getEmail(), teacher.getPassword());
+        }
+    }
+
+    private class CourseTarget implements ImportTarget<Course> {
+
+        private final CopyTable copyTable = new CopyTable("courses", "courses_seq", ID_ALLOCATION_SIZE,
+                copyColumns("name", "varchar(255)", "code", "varchar(255)", "credit", "real"),
+                Map.of("version", "0", "capacity", "60"));
+
+        @Override
+        public String name() {
+            return "courses";
+        }
+
+        @Override
+        public Class<Course> entityType() {
+            return Course.class;
+        }
+
+        @Override
+        public List<String> columns() {
+            return List.of("name", "code", "credit");
+        }
+
+        @Override
+        public Course parse(Row row) {
+            Course course = new Course();
+            course.setName(row.required("name", 255));
+            course.setCode(row.required("code", 255));
+            course.setCredit(row.decimal("credit"));
+            return course;
+        }
+
+        @Override
+        public List<UniqueKey<Course, ?>> uniqueKeys() {
+            return List.of(new UniqueKey<>("code", Course::getCode, courseRepository::findExistingCodes));
+        }
+
+        @Override
+        public void saveAll(List<Course> courses) {
+            courseRepository.saveAll(courses);
+            courseSeatsRepository.saveAll(courses.stream().map(CourseSeats::new).toList());
+        }
+
+        @Override
+        public CopyTable copyTable() {
+            return copyTable;
+        }
+
+        @Override
+        public List<Object> copyRow(Course course) {
+            return List.of(course.getName(), course.getCode(), course.getCredit());
+        }
+
+        // COPY bypasses CourseService, which creates each course's seat counter
+        @Override
+        public void afterCopy() {
+            courseSeatsRepository.createMissing();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.university.erp.importer;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Describes how one entity is loaded with {@code COPY}: the target table and id
+ * sequence, the copied columns with their SQL types (in row order), and fixed
+ * values for columns that are not in the file.
+ *
+ * @param allocationSize the entity's sequence allocation size, needed to turn a
+ *                       {@code nextval()} into a block of ids the same way Hibernate does
+ */
+public record CopyTable(String table, String sequence, int allocationSize,
+                        LinkedHashMap<String, String> columns, Map<String, String> constants) {
+
+    public String stagingTable() {
+        return table + "_import";
+    }
+
+    public List<String> columnNames() {
+        return List.copyOf(columns.keySet());
+    }
+}
@@ -0,0 +1,16 @@
+package com.university.erp.importer;
+
+/**
+ * How validated chunks are written to the database.
+ */
+public enum ImportMode {
+
+    /** Batched JPA inserts through the repositories. Works on every database. */
+    JPA,
+
+    /**
+     * PostgreSQL {@code COPY} into a staging table, then one {@code INSERT ... SELECT}
+     * per chunk. Meant for initial loads; falls back to {@link #JPA} on other databases.
+     */
+    COPY
+}
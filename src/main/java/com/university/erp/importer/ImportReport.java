@@ -0,0 +1,74 @@
+package com.university.erp.importer;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of one import run. Row numbers count data rows only (the header is
+ * row 0), so {@link #getCommittedRows()} can be passed straight back as the
+ * number of rows to skip when resuming an interrupted import.
+ */
+@Getter
+public class ImportReport {
+
+    public record RowError(long row, String message) {
+    }
+
+    private final String entity;
+    private final ImportMode mode;
+    private final int maxErrors;
+    private final List<RowError> errors = new ArrayList<>();
+
+    private long rowsRead;
+    private long resumedFrom;
+    private long imported;
+    private long rejected;
+    private long committedRows;
+    private int chunksCommitted;
+    private String failure;
+
+    public ImportReport(String entity, ImportMode mode, int maxErrors) {
+        this.entity = entity;
+        this.mode = mode;
+        this.maxErrors = maxErrors;
+    }
+
+    public boolean isFailed() {
+        return failure != null;
+    }
+
+    /**
+     * True when more rows were rejected than are listed in {@link #getErrors()}.
+     */
+    public boolean isErrorsTruncated() {
+        return rejected > errors.size();
+    }
+
+    void resumeFrom(long rows) {
+        this.resumedFrom = rows;
+        this.committedRows = rows;
+    }
+
+    void rowRead() {
+        rowsRead++;
+    }
+
+    void reject(long row, String message) {
+        rejected++;
+        if (errors.size() < maxErrors) {
+            errors.add(new RowError(row, message));
+        }
+    }
+
+    void chunkCommitted(long lastRow, int count) {
+        imported += count;
+        committedRows = lastRow;
+        chunksCommitted++;
+    }
+
+    void fail(String message) {
+        this.failure = message;
+    }
+}
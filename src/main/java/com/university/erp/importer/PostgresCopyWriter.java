@@ -0,0 +1,156 @@
+package com.university.erp.importer;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Writes import chunks with PostgreSQL's {@code COPY}. Rows are streamed into a
+ * session-local staging table and merged into the real table with
+ * {@code ON CONFLICT DO NOTHING}, so the unique constraints still hold even
+ * against rows inserted concurrently since the chunk was de-duplicated.
+ * <p>
+ * Must be called inside a transaction: it uses the transaction's connection so
+ * the copy and merge commit or roll back together with the rest of the chunk.
+ */
+@Component
+public class PostgresCopyWriter {
+
+    private final DataSource dataSource;
+    private final EntityManagerFactory entityManagerFactory;
+    private volatile Boolean available;
+
+    public PostgresCopyWriter(DataSource dataSource, EntityManagerFactory entityManagerFactory) {
+        this.dataSource = dataSource;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * Whether the configured database is PostgreSQL (checked once).
+     */
+    public boolean isAvailable() {
+        if (available == null) {
+            try (Connection connection = dataSource.getConnection()) {
+                available = connection.isWrapperFor(PGConnection.class);
+            } catch (SQLException ex) {
+                available = false;
+            }
+        }
+        return available;
+    }
+
+    /**
+     * Copies the rows (values in {@link CopyTable#columns()} order) and returns how
+     * many were inserted; the rest already existed.
+     */
+    public int write(CopyTable table, List<List<Object>> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(createStagingSql(table));
+
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            copyManager.copyIn(copySql(table), new StringReader(toCsv(rows)));
+
+            int blocks = (rows.size() + table.allocationSize() - 1) / table.allocationSize();
+            int inserted = statement.executeUpdate(mergeSql(table, blocks));
+            evictQueryCacheAfterCommit();
+            return inserted;
+        } catch (SQLException | IOException ex) {
+            throw new IllegalStateException("COPY into " + table.table() + " failed: " + ex.getMessage(), ex);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    /**
+     * The rows bypass Hibernate, so its query cache (course and department list
+     * pages) would not learn about them on its own. New rows are never in the
+     * entity regions, so only cached query results need to go.
+     */
+    private void evictQueryCacheAfterCommit() {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                entityManagerFactory.getCache().unwrap(Cache.class).evictQueryRegions();
+            }
+        });
+    }
+
+    static String createStagingSql(CopyTable table) {
+        String columns = table.columns().entrySet().stream()
+                .map(column -> column.getKey() + " " + column.getValue())
+                .collect(Collectors.joining(", "));
+        // Lives as long as the pooled connection; emptied at every commit
+        return "CREATE TEMP TABLE IF NOT EXISTS " + table.stagingTable()
+                + " (line integer NOT NULL, " + columns + ") ON COMMIT DELETE ROWS";
+    }
+
+    static String copySql(CopyTable table) {
+        return "COPY " + table.stagingTable() + " (line, " + String.join(", ", table.columnNames())
+                + ") FROM STDIN WITH (FORMAT csv)";
+    }
+
+    /**
+     * Takes one {@code nextval()} per block of {@code allocationSize} rows and hands
+     * out the ids below it, the same range Hibernate's pooled optimizer would use, so
+     * ids never collide with ones the application allocates. One spare value is
+     * fetched because a fresh sequence starts at 1, which is not the top of a block.
+     */
+    static String mergeSql(CopyTable table, int blocks) {
+        String columns = String.join(", ", table.columnNames());
+        String constantColumns = table.constants().keySet().stream().map(column -> ", " + column)
+                .collect(Collectors.joining());
+        String constantValues = table.constants().values().stream().map(value -> ", " + value)
+                .collect(Collectors.joining());
+        int size = table.allocationSize();
+
+        // A CTE calling a volatile function is evaluated exactly once
+        return "WITH tops AS (SELECT nextval('" + table.sequence() + "') AS top FROM generate_series(0, " + blocks + ")),"
+                + " blocks AS (SELECT row_number() OVER (ORDER BY top) - 1 AS n, top FROM tops WHERE top >= " + size + ")"
+                + " INSERT INTO " + table.table() + " (id, " + columns + constantColumns + ")"
+                + " SELECT b.top - " + (size - 1) + " + s.line % " + size + ", " + prefixed("s.", table)
+                + constantValues
+                + " FROM " + table.stagingTable() + " s"
+                + " JOIN blocks b ON b.n = s.line / " + size
+                + " ON CONFLICT DO NOTHING";
+    }
+
+    static String toCsv(List<List<Object>> rows) {
+        StringBuilder csv = new StringBuilder(rows.size() * 64);
+        for (int line = 0; line < rows.size(); line++) {
+            csv.append(line);
+            for (Object value : rows.get(line)) {
+                csv.append(',');
+                if (value instanceof String text) {
+                    csv.append('"').append(text.replace("\"", "\"\"")).append('"');
+                } else if (value != null) {
+                    csv.append(value);
+                }
+            }
+            csv.append('\n');
+        }
+        return csv.toString();
+    }
+
+    private static String prefixed(String alias, CopyTable table) {
+        return table.columnNames().stream().map(column -> alias + column).collect(Collectors.joining(", "));
+    }
+}
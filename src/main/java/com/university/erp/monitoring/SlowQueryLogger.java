@@ -0,0 +1,79 @@
+package com.university.erp.monitoring;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Decides which executed statements are worth a log line. Statements slower than
+ * the threshold are always logged at WARN; a random sample of the rest is logged
+ * at INFO. Everything else costs one clock read and a comparison.
+ */
+public class SlowQueryLogger {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryLogger.class);
+
+    private final long thresholdNanos;
+    private final double sampleRate;
+    private final SqlParameterRedactor redactor;
+
+    public SlowQueryLogger(Duration threshold, double sampleRate, SqlParameterRedactor redactor) {
+        this.thresholdNanos = threshold.toNanos();
+        this.sampleRate = sampleRate;
+        this.redactor = redactor;
+    }
+
+    /**
+     * @param parameters bind values by 1-based index; only read when the statement is logged
+     * @param batchSize  number of batched executions, or 0 for a single execution
+     */
+    public void record(String sql, Supplier<Map<Integer, Object>> parameters, int batchSize, long elapsedNanos) {
+        boolean slow = elapsedNanos >= thresholdNanos;
+        if (slow ? !log.isWarnEnabled() : !isSampled()) {
+            return;
+        }
+
+        String message = format(sql, batchSize > 0 ? null : parameters.get(), batchSize, elapsedNanos);
+        if (slow) {
+            log.warn("Slow SQL {}", message);
+        } else {
+            log.info("Sampled SQL {}", message);
+        }
+    }
+
+    private boolean isSampled() {
+        return sampleRate > 0 && log.isInfoEnabled() && ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    String format(String sql, Map<Integer, Object> parameters, int batchSize, long elapsedNanos) {
+        StringBuilder message = new StringBuilder()
+                .append('(').append(elapsedNanos / 1_000_000).append(" ms");
+        if (batchSize > 0) {
+            message.append(", batch of ").append(batchSize);
+        }
+        message.append("): ").append(sql == null ? "<unknown>" : sql.replaceAll("\\s+", " ").trim());
+
+        if (parameters != null && !parameters.isEmpty()) {
+            message.append(" [");
+            parameters.forEach((index, value) -> {
+                if (message.charAt(message.length() - 1) != '[') {
+                    message.append(", ");
+                }
+                message.append(index).append('=');
+                if (redactor.isRedacted(sql, index, value)) {
+                    message.append("<redacted>");
+                } else if (value instanceof CharSequence) {
+                    message.append('\'').append(value).append('\'');
+                } else {
+                    message.append(value);
+                }
+            });
+            message.append(']');
+        }
+        return message.toString();
+    }
+}
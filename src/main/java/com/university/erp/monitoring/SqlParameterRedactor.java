@@ -0,0 +1,97 @@
+package com.university.erp.monitoring;
+
+import java.util.BitSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Works out which bind parameters of a statement belong to sensitive columns, so
+ * their values never reach the log. Handles the two shapes Hibernate generates:
+ * {@code insert into t (a,b) values (?,?)} and {@code column=?} in SET/WHERE
+ * clauses. Any value that looks like a BCrypt hash is hidden as well.
+ */
+public class SqlParameterRedactor {
+
+    private static final Pattern INSERT = Pattern.compile(
+            "^\\s*insert\\s+into\\s+\\S+\\s*\\(([^)]*)\\)\\s*values\\s*\\(([^)]*)\\)",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final Pattern COMPARED_COLUMN = Pattern.compile(
+            "([A-Za-z_][\\w.]*)\\s*(=|<>|!=|\\blike\\b)\\s*$", Pattern.CASE_INSENSITIVE);
+    private static final Pattern BCRYPT = Pattern.compile("^\\$2[aby]?\\$\\d{2}\\$.{53}$");
+
+    // Hibernate generates a bounded set of statements; stop caching if something doesn't
+    private static final int MAX_CACHED_STATEMENTS = 2000;
+
+    private final Set<String> columns;
+    private final Map<String, BitSet> cache = new ConcurrentHashMap<>();
+
+    public SqlParameterRedactor(Set<String> columns) {
+        this.columns = columns;
+    }
+
+    public boolean isRedacted(String sql, int parameterIndex, Object value) {
+        if (value instanceof CharSequence text && BCRYPT.matcher(text).matches()) {
+            return true;
+        }
+        return sql != null && redactedIndexes(sql).get(parameterIndex);
+    }
+
+    BitSet redactedIndexes(String sql) {
+        BitSet cached = cache.get(sql);
+        if (cached != null) {
+            return cached;
+        }
+        BitSet indexes = parse(sql);
+        if (cache.size() < MAX_CACHED_STATEMENTS) {
+            cache.put(sql, indexes);
+        }
+        return indexes;
+    }
+
+    private BitSet parse(String sql) {
+        BitSet indexes = new BitSet();
+
+        Matcher insert = INSERT.matcher(sql);
+        if (insert.find()) {
+            String[] names = insert.group(1).split(",");
+            String[] values = insert.group(2).split(",");
+            int parameter = 0;
+            for (int i = 0; i < values.length; i++) {
+                if (values[i].trim().equals("?")) {
+                    parameter++;
+                    if (i < names.length && isSensitive(names[i])) {
+                        indexes.set(parameter);
+                    }
+                }
+            }
+            return indexes;
+        }
+
+        int parameter = 0;
+        boolean inLiteral = false;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                inLiteral = !inLiteral;
+            } else if (c == '?' && !inLiteral) {
+                parameter++;
+                Matcher column = COMPARED_COLUMN.matcher(sql.substring(Math.max(0, i - 100), i));
+                if (column.find() && isSensitive(column.group(1))) {
+                    indexes.set(parameter);
+                }
+            }
+        }
+        return indexes;
+    }
+
+    private boolean isSensitive(String column) {
+        String name = column.trim();
+        // Drop a table alias such as "s1_0."
+        name = name.substring(name.lastIndexOf('.') + 1);
+        return columns.contains(name.toLowerCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,29 @@
+package com.university.erp.monitoring;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.util.function.SingletonSupplier;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps every {@link DataSource} bean so executed statements are timed. The logger
+ * is looked up on first use because post-processors are created before ordinary
+ * beans.
+ */
+public class StatementTimingPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<SlowQueryLogger> slowQueryLogger;
+
+    public StatementTimingPostProcessor(ObjectProvider<SlowQueryLogger> slowQueryLogger) {
+        this.slowQueryLogger = slowQueryLogger;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource) {
+            return StatementTimingProxy.wrap(dataSource, SingletonSupplier.of(slowQueryLogger::getObject));
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,138 @@
+package com.university.erp.monitoring;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+/**
+ * JDK proxies around a {@link DataSource}, its connections and statements that time
+ * every {@code execute*} call and hand it to the {@link SlowQueryLogger}. Bind
+ * values are remembered per prepared statement so a slow statement can be logged
+ * with its parameters. {@code unwrap}/{@code isWrapperFor} reach through to the
+ * driver, so vendor APIs such as PostgreSQL's CopyManager keep working.
+ */
+final class StatementTimingProxy {
+
+    private StatementTimingProxy() {
+    }
+
+    static DataSource wrap(DataSource dataSource, Supplier<SlowQueryLogger> logger) {
+        return proxy(DataSource.class, dataSource, (proxy, method, args) -> {
+            Object result = invoke(dataSource, method, args);
+            if (result instanceof Connection connection && method.getName().equals("getConnection")) {
+                return wrapConnection(connection, logger);
+            }
+            return result;
+        });
+    }
+
+    private static Connection wrapConnection(Connection connection, Supplier<SlowQueryLogger> logger) {
+        return proxy(Connection.class, connection, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (result instanceof CallableStatement statement) {
+                return wrapStatement(CallableStatement.class, statement, (String) args[0], logger);
+            }
+            if (result instanceof PreparedStatement statement) {
+                return wrapStatement(PreparedStatement.class, statement, (String) args[0], logger);
+            }
+            if (result instanceof Statement statement) {
+                return wrapStatement(Statement.class, statement, null, logger);
+            }
+            return result;
+        });
+    }
+
+    private static <S extends Statement> S wrapStatement(Class<S> type, S statement, String preparedSql,
+                                                         Supplier<SlowQueryLogger> logger) {
+        StatementState state = new StatementState(preparedSql);
+        return proxy(type, statement, (proxy, method, args) -> {
+            String name = method.getName();
+
+            if (name.startsWith("execute")) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : state.sql;
+                int batchSize = name.startsWith("executeBatch") || name.startsWith("executeLargeBatch")
+                        ? state.batchSize : 0;
+                long start = System.nanoTime();
+                try {
+                    return invoke(statement, method, args);
+                } finally {
+                    long elapsed = System.nanoTime() - start;
+                    logger.get().record(sql, state::parameters, batchSize, elapsed);
+                    if (batchSize > 0) {
+                        state.batchSize = 0;
+                    }
+                }
+            }
+
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                state.parameters.put(index, name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                state.parameters.clear();
+            } else if (name.equals("addBatch")) {
+                state.batchSize++;
+                if (args != null && args.length == 1) {
+                    // Statement.addBatch(sql): there is no single SQL to report, keep the first
+                    state.sql = state.sql == null ? (String) args[0] : state.sql;
+                }
+            } else if (name.equals("clearBatch")) {
+                state.batchSize = 0;
+            }
+            return invoke(statement, method, args);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, InvocationHandler handler) {
+        InvocationHandler unwrapping = (proxy, method, args) -> {
+            // Let callers reach the driver's own interfaces through the proxy
+            if (method.getName().equals("unwrap") && args[0] instanceof Class<?> iface && iface.isInstance(proxy)) {
+                return proxy;
+            }
+            if (method.getName().equals("isWrapperFor") && args[0] instanceof Class<?> iface && iface.isInstance(proxy)) {
+                return true;
+            }
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "toString" -> "Timed[" + target + "]";
+                    default -> invoke(target, method, args);
+                };
+            }
+            return handler.invoke(proxy, method, args);
+        };
+        return (T) Proxy.newProxyInstance(StatementTimingProxy.class.getClassLoader(), new Class<?>[]{type}, unwrapping);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    private static final class StatementState {
+
+        private String sql;
+        private int batchSize;
+        private final Map<Integer, Object> parameters = new TreeMap<>();
+
+        private StatementState(String sql) {
+            this.sql = sql;
+        }
+
+        private Map<Integer, Object> parameters() {
+            return parameters;
+        }
+    }
+}
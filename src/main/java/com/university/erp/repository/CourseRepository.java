@@ -1,7 +1,77 @@
 package com.university.erp.repository;
 
+import com.university.erp.dto.CourseRow;
+import com.university.erp.dto.TaughtCourse;
 import com.university.erp.entity.Course;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
+import java.util.List;
 
-public interface CourseRepository extends JpaRepository<Course, Long> {
+public interface CourseRepository extends JpaRepository<Course, Long>, ListingRepository<Course, Long, CourseRow>,
+        StreamingRepository<Course, Long> {
+
+    // List pages: the shown columns plus the department and teacher names, in one select.
+    // Unfiltered pages come from the query cache, which holds these rows as plain values;
+    // any write to courses, departments or teachers invalidates them.
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select new com.university.erp.dto.CourseRow(c.id, c.name, c.code, c.credit, d.name, t.name) "
+            + "from Course c left join c.department d left join c.teacher t")
+    Slice<CourseRow> findRowsBy(Pageable pageable);
+
+    @Override
+    @Query("select new com.university.erp.dto.CourseRow(c.id, c.name, c.code, c.credit, d.name, t.name) "
+            + "from Course c left join c.department d left join c.teacher t "
+            + "where upper(c.name) like :pattern escape '!'")
+    Slice<CourseRow> findRowsByNameLike(@Param("pattern") String pattern, Pageable pageable);
+
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Course> findAll();
+
+    // Bulk import: which of these codes are already taken
+    @Query("select c.code from Course c where c.code in :codes")
+    List<String> findExistingCodes(@Param("codes") Collection<String> codes);
+
+    // Teachers page: the course codes of every teacher on the page, in one query
+    @Query("select new com.university.erp.dto.TaughtCourse(c.teacher.id, c.code) from Course c "
+            + "where c.teacher.id in :teacherIds order by c.code")
+    List<TaughtCourse> findTaughtCourses(@Param("teacherIds") Collection<Long> teacherIds);
+
+    // Bulk statements. Hibernate evicts the courses cache region and invalidates cached
+    // course queries itself whenever one of these runs.
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Course c where c.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Course c where upper(c.name) like :pattern escape '!'")
+    int deleteByNameLike(@Param("pattern") String pattern);
+
+    // Bumps the version like a regular update, so edit forms opened before it go stale
+    @Modifying(clearAutomatically = true)
+    @Query("update Course c set c.credit = :credit, c.version = c.version + 1 where c.id in :ids")
+    int updateCreditByIdIn(@Param("ids") Collection<Long> ids, @Param("credit") Float credit);
+
+    // Unassign before a department or teacher is deleted, so the foreign keys let it go
+    @Modifying
+    @Query("update Course c set c.department = null, c.version = c.version + 1 where c.department.id = :departmentId")
+    int unassignDepartment(@Param("departmentId") Long departmentId);
+
+    @Modifying
+    @Query("update Course c set c.teacher = null, c.version = c.version + 1 where c.teacher.id in :teacherIds")
+    int unassignTeachers(@Param("teacherIds") Collection<Long> teacherIds);
+
+    @Modifying
+    @Query("update Course c set c.teacher = null, c.version = c.version + 1 "
+            + "where c.teacher.id in (select t.id from Teacher t where upper(t.name) like :pattern escape '!')")
+    int unassignTeachersNamed(@Param("pattern") String pattern);
 }
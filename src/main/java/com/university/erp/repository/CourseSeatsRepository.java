@@ -0,0 +1,67 @@
+package com.university.erp.repository;
+
+import com.university.erp.dto.CourseSeatView;
+import com.university.erp.entity.CourseSeats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Seat counters. Each statement is a single conditional write on one row: the database
+ * checks and changes the count atomically under the row lock, so concurrent registrations
+ * can neither lose an update nor push {@code taken} past the course's capacity.
+ * <p>
+ * A seat that frees up while students are waiting for the course belongs to the waitlist:
+ * {@link #claimSeat} refuses it, and only {@link #claimSeats}, used by the promotion, takes it.
+ */
+public interface CourseSeatsRepository extends JpaRepository<CourseSeats, Long> {
+
+    @Modifying
+    @Query("update CourseSeats s set s.taken = s.taken + 1 where s.courseId = :courseId"
+            + " and s.taken < (select c.capacity from Course c where c.id = :courseId)"
+            + " and not exists (select 1 from WaitlistEntry w where w.course.id = :courseId)")
+    int claimSeat(@Param("courseId") Long courseId);
+
+    // Waitlist promotion: all of a batch's seats in one write, or none of them
+    @Modifying
+    @Query("update CourseSeats s set s.taken = s.taken + :count where s.courseId = :courseId"
+            + " and s.taken + :count <= (select c.capacity from Course c where c.id = :courseId)")
+    int claimSeats(@Param("courseId") Long courseId, @Param("count") int count);
+
+    @Query("select c.capacity - s.taken from CourseSeats s join Course c on c.id = s.courseId where s.courseId = :courseId")
+    Optional<Integer> findFreeSeats(@Param("courseId") Long courseId);
+
+    @Modifying
+    @Query("update CourseSeats s set s.taken = s.taken - 1 where s.courseId = :courseId and s.taken > 0")
+    int releaseSeat(@Param("courseId") Long courseId);
+
+    // Student deletes: the database cascades to their enrollments, so their seats are given back first
+    @Modifying
+    @Query("update CourseSeats s set s.taken = s.taken - cast((select count(e) from Enrollment e"
+            + " where e.course.id = s.courseId and e.student.id in :studentIds) as Integer)"
+            + " where s.courseId in (select e.course.id from Enrollment e where e.student.id in :studentIds)")
+    int releaseSeatsOfStudents(@Param("studentIds") Collection<Long> studentIds);
+
+    @Modifying
+    @Query("update CourseSeats s set s.taken = s.taken - cast((select count(e) from Enrollment e"
+            + " where e.course.id = s.courseId and upper(e.student.name) like :pattern escape '!') as Integer)"
+            + " where s.courseId in (select e.course.id from Enrollment e where upper(e.student.name) like :pattern escape '!')")
+    int releaseSeatsOfStudentsNamed(@Param("pattern") String pattern);
+
+    // Counters for courses inserted behind Hibernate's back (COPY imports)
+    @Modifying
+    @Query(value = "insert into course_seats (course_id, taken) select c.id, 0 from courses c"
+            + " where not exists (select 1 from course_seats s where s.course_id = c.id)", nativeQuery = true)
+    int createMissing();
+
+    // Course catalogue with seats taken; a course without a counter row reads as empty
+    @Query("select new com.university.erp.dto.CourseSeatView(c.id, c.code, c.name, c.credit, c.capacity, coalesce(s.taken, 0),"
+            + " case when exists (select 1 from WaitlistEntry w where w.course.id = c.id) then true else false end)"
+            + " from Course c left join CourseSeats s on s.courseId = c.id order by c.code")
+    List<CourseSeatView> findCourseSeats();
+}
@@ -1,7 +1,33 @@
 package com.university.erp.repository;
 
+import com.university.erp.dto.DepartmentRow;
 import com.university.erp.entity.Department;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-public interface DepartmentRepository  extends JpaRepository<Department, Long> {
+import java.util.List;
+
+public interface DepartmentRepository extends JpaRepository<Department, Long>, ListingRepository<Department, Long, DepartmentRow>,
+        StreamingRepository<Department, Long> {
+
+    // Unfiltered list pages come from the query cache; any write to departments invalidates them
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select new com.university.erp.dto.DepartmentRow(d.id, d.name) from Department d")
+    Slice<DepartmentRow> findRowsBy(Pageable pageable);
+
+    @Override
+    @Query("select new com.university.erp.dto.DepartmentRow(d.id, d.name) from Department d "
+            + "where upper(d.name) like :pattern escape '!'")
+    Slice<DepartmentRow> findRowsByNameLike(@Param("pattern") String pattern, Pageable pageable);
+
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Department> findAll();
 }
@@ -0,0 +1,27 @@
+package com.university.erp.repository;
+
+import com.university.erp.entity.Enrollment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.Set;
+
+public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
+
+    boolean existsByStudentIdAndCourseId(Long studentId, Long courseId);
+
+    long countByCourseId(Long courseId);
+
+    @Modifying
+    @Query("delete from Enrollment e where e.student.id = :studentId and e.course.id = :courseId")
+    int deleteByStudentIdAndCourseId(@Param("studentId") Long studentId, @Param("courseId") Long courseId);
+
+    @Query("select e.course.id from Enrollment e where e.student.id = :studentId")
+    Set<Long> findCourseIdsByStudentId(@Param("studentId") Long studentId);
+
+    @Query("select e.student.id from Enrollment e where e.course.id = :courseId and e.student.id in :studentIds")
+    Set<Long> findEnrolledStudentIds(@Param("courseId") Long courseId, @Param("studentIds") Collection<Long> studentIds);
+}
@@ -0,0 +1,24 @@
+package com.university.erp.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.Repository;
+
+/**
+ * Shared list-page queries, returning row projections {@code R} rather than entities:
+ * only the columns the page shows are selected, and the rows are plain values that the
+ * persistence context neither tracks nor snapshots. Each repository declares the query,
+ * as a {@code select new} of its row record. Returning {@link Slice} makes Spring Data
+ * fetch one extra row to work out {@code hasNext()} instead of issuing a {@code COUNT(*)}.
+ */
+@NoRepositoryBean
+public interface ListingRepository<T, ID, R> extends Repository<T, ID> {
+
+    Slice<R> findRowsBy(Pageable pageable);
+
+    /**
+     * Rows whose upper-cased name matches {@code pattern}, a LIKE pattern escaped with {@code '!'}.
+     */
+    Slice<R> findRowsByNameLike(String pattern, Pageable pageable);
+}
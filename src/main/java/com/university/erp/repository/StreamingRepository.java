@@ -0,0 +1,23 @@
+package com.university.erp.repository;
+
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.Repository;
+
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+/**
+ * Whole-table reads for exports. The stream is backed by an open JDBC cursor, so it
+ * must be consumed (and closed) inside a transaction; rows arrive in batches of
+ * the fetch size instead of being loaded into one list.
+ */
+@NoRepositoryBean
+public interface StreamingRepository<T, ID> extends Repository<T, ID> {
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    Stream<T> streamAllByOrderByIdAsc();
+}
@@ -1,10 +1,70 @@
 package com.university.erp.repository;
 
+import com.university.erp.dto.StudentRow;
 import com.university.erp.entity.Student;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface StudentRepository extends JpaRepository<Student, Long> {
+public interface StudentRepository extends JpaRepository<Student, Long>, ListingRepository<Student, Long, StudentRow>,
+        StreamingRepository<Student, Long> {
     Optional<Student> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    @Modifying
+    @Query("update Student s set s.password = :password where s.email = :email")
+    int updatePasswordByEmail(@Param("email") String email, @Param("password") String password);
+
+    // List pages select only the shown columns, never the password hash
+    @Override
+    @Query("select new com.university.erp.dto.StudentRow(s.id, s.name, s.roll, s.email) from Student s")
+    Slice<StudentRow> findRowsBy(Pageable pageable);
+
+    @Override
+    @Query("select new com.university.erp.dto.StudentRow(s.id, s.name, s.roll, s.email) from Student s "
+            + "where upper(s.name) like :pattern escape '!'")
+    Slice<StudentRow> findRowsByNameLike(@Param("pattern") String pattern, Pageable pageable);
+
+    // Keyset pagination: each call is a bounded range scan on the primary key index
+    @Query("select new com.university.erp.dto.StudentRow(s.id, s.name, s.roll, s.email) from Student s "
+            + "order by s.id asc")
+    List<StudentRow> findFirstRows(Limit limit);
+
+    @Query("select new com.university.erp.dto.StudentRow(s.id, s.name, s.roll, s.email) from Student s "
+            + "where s.id > :id order by s.id asc")
+    List<StudentRow> findRowsAfter(@Param("id") Long id, Limit limit);
+
+    @Query("select new com.university.erp.dto.StudentRow(s.id, s.name, s.roll, s.email) from Student s "
+            + "where s.id < :id order by s.id desc")
+    List<StudentRow> findRowsBefore(@Param("id") Long id, Limit limit);
+
+    // Bulk import: which of these keys are already taken
+    @Query("select s.email from Student s where s.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("select s.roll from Student s where s.roll in :rolls")
+    List<Integer> findExistingRolls(@Param("rolls") Collection<Integer> rolls);
+
+    // Bulk delete: one statement for the whole selection, or for every name matching the list filter.
+    // The emails are read first so the cached logins can be evicted.
+    @Query("select s.email from Student s where s.id in :ids")
+    List<String> findEmailsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select s.email from Student s where upper(s.name) like :pattern escape '!'")
+    List<String> findEmailsByNameLike(@Param("pattern") String pattern);
+
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Student s where s.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Student s where upper(s.name) like :pattern escape '!'")
+    int deleteByNameLike(@Param("pattern") String pattern);
 }
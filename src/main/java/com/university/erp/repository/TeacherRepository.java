@@ -1,10 +1,62 @@
 package com.university.erp.repository;
 
+import com.university.erp.dto.TeacherRow;
 import com.university.erp.entity.Teacher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface TeacherRepository extends JpaRepository<Teacher, Long> {
+public interface TeacherRepository extends JpaRepository<Teacher, Long>, ListingRepository<Teacher, Long, TeacherRow>,
+        StreamingRepository<Teacher, Long> {
     Optional<Teacher> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    // List pages: the shown columns and the department's name, never the password hash.
+    // The teachers' courses are one more query for the whole page (CourseRepository.findTaughtCourses).
+    @Override
+    @Query("select new com.university.erp.dto.TeacherRow(t.id, t.name, t.employeeId, t.email, d.name) "
+            + "from Teacher t left join t.department d")
+    Slice<TeacherRow> findRowsBy(Pageable pageable);
+
+    @Override
+    @Query("select new com.university.erp.dto.TeacherRow(t.id, t.name, t.employeeId, t.email, d.name) "
+            + "from Teacher t left join t.department d where upper(t.name) like :pattern escape '!'")
+    Slice<TeacherRow> findRowsByNameLike(@Param("pattern") String pattern, Pageable pageable);
+
+    @Modifying
+    @Query("update Teacher t set t.password = :password where t.email = :email")
+    int updatePasswordByEmail(@Param("email") String email, @Param("password") String password);
+
+    // Bulk import: which of these keys are already taken
+    @Query("select t.email from Teacher t where t.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("select t.employeeId from Teacher t where t.employeeId in :employeeIds")
+    List<Integer> findExistingEmployeeIds(@Param("employeeIds") Collection<Integer> employeeIds);
+
+    // Bulk delete: one statement for the whole selection, or for every name matching the list filter.
+    // The emails are read first so the cached logins can be evicted.
+    @Query("select t.email from Teacher t where t.id in :ids")
+    List<String> findEmailsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select t.email from Teacher t where upper(t.name) like :pattern escape '!'")
+    List<String> findEmailsByNameLike(@Param("pattern") String pattern);
+
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Teacher t where t.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Teacher t where upper(t.name) like :pattern escape '!'")
+    int deleteByNameLike(@Param("pattern") String pattern);
+
+    @Modifying
+    @Query("update Teacher t set t.department = null, t.version = t.version + 1 where t.department.id = :departmentId")
+    int unassignDepartment(@Param("departmentId") Long departmentId);
 }
@@ -0,0 +1,29 @@
+package com.university.erp.repository;
+
+import com.university.erp.dto.UserAccount;
+import com.university.erp.entity.Student;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+/**
+ * Credential lookup across both account tables in a single round-trip. Each branch of
+ * the UNION is a probe of the unique index on {@code email}. Students win if the same
+ * email exists in both tables, as they did when the tables were queried one by one.
+ * (Student is only the nominal domain type; Spring Data requires one.)
+ */
+public interface UserAccountRepository extends Repository<Student, Long> {
+
+    @Query(value = """
+            SELECT email, password, role FROM (
+                SELECT email, password, role, 0 AS precedence FROM students WHERE email = :email
+                UNION ALL
+                SELECT email, password, role, 1 AS precedence FROM teachers WHERE email = :email
+            ) accounts
+            ORDER BY precedence
+            LIMIT 1
+            """, nativeQuery = true)
+    Optional<UserAccount> findByEmail(@Param("email") String email);
+}
@@ -0,0 +1,56 @@
+package com.university.erp.repository;
+
+import com.university.erp.entity.WaitlistEntry;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Course waitlists. Every query on a course's queue is bounded by the
+ * {@code (course_id, queued_at, id)} index, so none of them reads the whole table.
+ */
+public interface WaitlistRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    boolean existsByStudentIdAndCourseId(Long studentId, Long courseId);
+
+    boolean existsByCourseId(Long courseId);
+
+    List<WaitlistEntry> findByStudentId(Long studentId);
+
+    /**
+     * The oldest entries of a course's queue, locked for promotion. Entries another promotion
+     * holds already are skipped, not waited for (SKIP LOCKED, where the database supports it).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select w from WaitlistEntry w where w.course.id = :courseId order by w.queuedAt, w.id")
+    List<WaitlistEntry> findQueueHead(@Param("courseId") Long courseId, Limit limit);
+
+    // Entries queued before the given one: a student's position is this plus one
+    @Query("select count(w) from WaitlistEntry w where w.course.id = :courseId and w.queuedAt <= :queuedAt"
+            + " and (w.queuedAt < :queuedAt or w.id < :id)")
+    long countAhead(@Param("courseId") Long courseId, @Param("queuedAt") Instant queuedAt, @Param("id") Long id);
+
+    // Courses with a free seat and someone waiting for it; one row per course in course_seats
+    @Query("select s.courseId from CourseSeats s join Course c on c.id = s.courseId where s.taken < c.capacity"
+            + " and exists (select 1 from WaitlistEntry w where w.course.id = s.courseId)")
+    List<Long> findCourseIdsToPromote();
+
+    @Modifying
+    @Query("delete from WaitlistEntry w where w.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("delete from WaitlistEntry w where w.student.id = :studentId and w.course.id = :courseId")
+    int deleteByStudentIdAndCourseId(@Param("studentId") Long studentId, @Param("courseId") Long courseId);
+}
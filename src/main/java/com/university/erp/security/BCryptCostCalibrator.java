@@ -0,0 +1,41 @@
+package com.university.erp.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Picks the BCrypt strength (log2 rounds) for this machine: the highest strength
+ * within bounds whose hash still takes no longer than the target time.
+ */
+public final class BCryptCostCalibrator {
+
+    private static final String SAMPLE = "calibration-sample-password";
+
+    private BCryptCostCalibrator() {
+    }
+
+    public static int calibrate(long targetMillis, int minStrength, int maxStrength) {
+        // Warm up so the first measurement is not dominated by JIT compilation
+        new BCryptPasswordEncoder(minStrength).encode(SAMPLE);
+
+        int strength = minStrength;
+        for (int candidate = minStrength; candidate <= maxStrength; candidate++) {
+            long elapsed = timeOneHash(candidate);
+            if (elapsed > targetMillis && candidate > minStrength) {
+                break;
+            }
+            strength = candidate;
+            // Every step doubles the work, so don't bother measuring one that must overshoot
+            if (elapsed * 2 > targetMillis) {
+                break;
+            }
+        }
+        return strength;
+    }
+
+    private static long timeOneHash(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        long start = System.nanoTime();
+        encoder.encode(SAMPLE);
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
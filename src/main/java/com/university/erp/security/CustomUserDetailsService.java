@@ -1,54 +1,68 @@
 package com.university.erp.security;
 
-import com.university.erp.entity.Student;
-import com.university.erp.entity.Teacher;
+import com.university.erp.dto.UserAccount;
 import com.university.erp.repository.StudentRepository;
 import com.university.erp.repository.TeacherRepository;
+import com.university.erp.repository.UserAccountRepository;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collections;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
+    private final UserAccountRepository userAccountRepository;
     private final StudentRepository studentRepository;
     private final TeacherRepository teacherRepository;
+    private final UserDetailsCache userDetailsCache;
 
-    public CustomUserDetailsService(StudentRepository studentRepository,
-                                    TeacherRepository teacherRepository) {
+    public CustomUserDetailsService(UserAccountRepository userAccountRepository,
+                                    StudentRepository studentRepository,
+                                    TeacherRepository teacherRepository,
+                                    UserDetailsCache userDetailsCache) {
+        this.userAccountRepository = userAccountRepository;
         this.studentRepository = studentRepository;
         this.teacherRepository = teacherRepository;
+        this.userDetailsCache = userDetailsCache;
     }
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        // Try to find student first
-        Student student = studentRepository.findByEmail(email).orElse(null);
-
-        if (student != null) {
-            return new User(
-                    student.getEmail(),
-                    student.getPassword(),
-                    Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + student.getRole()))
-            );
-        }
+        return userDetailsCache.get(email, this::loadFromDatabase);
+    }
 
-        // Try to find teacher
-        Teacher teacher = teacherRepository.findByEmail(email).orElse(null);
+    private UserDetails loadFromDatabase(String email) {
+        // Students and teachers are looked up together in one query
+        UserAccount account = userAccountRepository.findByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
 
-        if (teacher != null) {
-            return new User(
-                    teacher.getEmail(),
-                    teacher.getPassword(),
-                    Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + teacher.getRole()))
-            );
-        }
+        return new User(
+                account.getEmail(),
+                account.getPassword(),
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + account.getRole()))
+        );
+    }
 
-        throw new UsernameNotFoundException("User not found with email: " + email);
+    /**
+     * Called by Spring Security after a successful login whose stored hash uses a
+     * lower BCrypt strength than the current one, with the password re-encoded.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        String email = user.getUsername();
+        // Same precedence as the lookup: students first
+        if (studentRepository.updatePasswordByEmail(email, newPassword) == 0) {
+            teacherRepository.updatePasswordByEmail(email, newPassword);
+        }
+        userDetailsCache.evict(email);
+        return User.withUserDetails(user).password(newPassword).build();
     }
-}
\ No newline at end of file
+}
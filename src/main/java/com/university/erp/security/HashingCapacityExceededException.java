@@ -0,0 +1,15 @@
+package com.university.erp.security;
+
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+
+/**
+ * Thrown when the password hashing pool cannot take more work. Extends
+ * {@link InternalAuthenticationServiceException} so the authentication manager
+ * rethrows it as is instead of reporting it as bad credentials.
+ */
+public class HashingCapacityExceededException extends InternalAuthenticationServiceException {
+
+    public HashingCapacityExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,38 @@
+package com.university.erp.security;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.web.authentication.SimpleUrlAuthenticationFailureHandler;
+
+import java.io.IOException;
+
+/**
+ * Sends wrong credentials back to the login page as before, but answers
+ * {@code 503 Service Unavailable} with a {@code Retry-After} when the password
+ * hashing pool is saturated, so clients back off instead of retrying into the queue.
+ */
+public class LoginFailureHandler extends SimpleUrlAuthenticationFailureHandler {
+
+    private static final String RETRY_AFTER_SECONDS = "5";
+
+    public LoginFailureHandler() {
+        super("/login?error");
+    }
+
+    @Override
+    public void onAuthenticationFailure(HttpServletRequest request, HttpServletResponse response,
+                                        AuthenticationException exception) throws IOException, ServletException {
+        if (exception instanceof HashingCapacityExceededException) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+            response.setContentType("text/plain;charset=UTF-8");
+            response.getWriter().write("The server is busy logging other users in. Please try again in a few seconds.");
+            return;
+        }
+        super.onAuthenticationFailure(request, response, exception);
+    }
+}
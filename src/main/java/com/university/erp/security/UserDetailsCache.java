@@ -0,0 +1,123 @@
+package com.university.erp.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+/**
+ * Bounded, time-limited cache of login accounts keyed by email. Hit/miss counts are
+ * published as the {@code cache.gets} metric with {@code cache=userDetails}.
+ * <p>
+ * Accounts are loaded outside Caffeine's compute lock, so an eviction cannot wait for a
+ * load in progress. Instead every eviction bumps a generation for its email's stripe, and
+ * a load that finds its stripe's generation moved drops what it just cached.
+ */
+@Component
+public class UserDetailsCache implements MeterBinder {
+
+    static final String CACHE_NAME = "userDetails";
+
+    private static final int GENERATION_STRIPES = 64;
+
+    private final Cache<String, CachedAccount> cache;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    public UserDetailsCache(@Value("${app.security.user-cache.max-size:10000}") long maximumSize,
+                            @Value("${app.security.user-cache.ttl:5m}") Duration timeToLive) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached account for {@code email}, calling {@code loader} on a miss.
+     * Exceptions from the loader (e.g. user not found) are passed through and nothing is cached.
+     */
+    public UserDetails get(String email, Function<String, UserDetails> loader) {
+        CachedAccount account = cache.getIfPresent(email);
+        if (account == null) {
+            // Loaded outside Caffeine's compute lock: the loader runs a query, and blocking
+            // inside that synchronized section would pin a virtual thread to its carrier.
+            // Two concurrent misses for the same email may both query; that is harmless.
+            int stripe = stripe(email);
+            long generation = generations.get(stripe);
+            account = CachedAccount.of(loader.apply(email));
+            cache.put(email, account);
+            // An eviction during the load may have run before the put; the row read may be the old one
+            if (generations.get(stripe) != generation) {
+                cache.invalidate(email);
+            }
+        }
+        return account.toUserDetails();
+    }
+
+    /**
+     * Drops the entry now and again once the surrounding transaction commits, so a
+     * login racing the write cannot re-cache the old row.
+     */
+    public void evict(String email) {
+        if (email == null) {
+            return;
+        }
+        invalidate(email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(email);
+                }
+            });
+        }
+    }
+
+    public void evictAll() {
+        for (int stripe = 0; stripe < GENERATION_STRIPES; stripe++) {
+            generations.incrementAndGet(stripe);
+        }
+        cache.invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+
+    // Generation first: a load that puts after this invalidate then sees the bump
+    private void invalidate(String email) {
+        generations.incrementAndGet(stripe(email));
+        cache.invalidate(email);
+    }
+
+    private static int stripe(String email) {
+        return Math.floorMod(email.hashCode(), GENERATION_STRIPES);
+    }
+
+    // Spring Security erases credentials on the UserDetails it authenticates, so the
+    // cache keeps its own immutable copy and hands out a fresh User every time.
+    private record CachedAccount(String username, String password, List<GrantedAuthority> authorities) {
+
+        static CachedAccount of(UserDetails user) {
+            return new CachedAccount(user.getUsername(), user.getPassword(), List.copyOf(user.getAuthorities()));
+        }
+
+        UserDetails toUserDetails() {
+            return new User(username, password, authorities);
+        }
+    }
+}
@@ -1,20 +1,43 @@
 package com.university.erp.service;
 
+import com.university.erp.dto.CourseRow;
+import com.university.erp.dto.TaughtCourse;
 import com.university.erp.entity.Course;
+import com.university.erp.entity.CourseSeats;
+import com.university.erp.entity.Department;
+import com.university.erp.entity.Teacher;
 import com.university.erp.repository.CourseRepository;
+import com.university.erp.repository.CourseSeatsRepository;
+import com.university.erp.repository.DepartmentRepository;
+import com.university.erp.repository.TeacherRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
-public class CourseService {
+public class CourseService extends ListingService<CourseRow> {
 
     private final CourseRepository courseRepository;
+    private final CourseSeatsRepository courseSeatsRepository;
+    private final DepartmentRepository departmentRepository;
+    private final TeacherRepository teacherRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public CourseService(CourseRepository courseRepository) {
+    public CourseService(CourseRepository courseRepository, CourseSeatsRepository courseSeatsRepository,
+                         DepartmentRepository departmentRepository, TeacherRepository teacherRepository,
+                         ApplicationEventPublisher eventPublisher) {
+        super(courseRepository, "id", "name", "code", "credit");
         this.courseRepository = courseRepository;
+        this.courseSeatsRepository = courseSeatsRepository;
+        this.departmentRepository = departmentRepository;
+        this.teacherRepository = teacherRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional(readOnly = true)
@@ -27,24 +50,96 @@ public class CourseService {
         return courseRepository.findAll();
     }
 
+    /**
+     * The codes of the courses each of the given teachers teaches, keyed by teacher id,
+     * in one query. Teachers without courses are absent from the map.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, List<String>> getCourseCodesByTeacher(Collection<Long> teacherIds) {
+        if (teacherIds.isEmpty()) {
+            return Map.of();
+        }
+        return courseRepository.findTaughtCourses(teacherIds).stream()
+                .collect(Collectors.groupingBy(TaughtCourse::teacherId,
+                        Collectors.mapping(TaughtCourse::code, Collectors.toList())));
+    }
+
     @Transactional
     public Course createCourse(Course course) {
-        return courseRepository.save(course);
+        course.setDepartment(department(course.getDepartment()));
+        course.setTeacher(teacher(course.getTeacher()));
+        Course saved = courseRepository.save(course);
+        // Registrations only ever update the counter, so it exists from the start
+        courseSeatsRepository.save(new CourseSeats(saved));
+        eventPublisher.publishEvent(new EntityChangedEvent(Course.class));
+        return saved;
     }
 
     @Transactional
     public Course updateCourse(Long id, Course courseDetails) {
         Course course = courseRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Course not found with id: " + id));
+        OptimisticLocks.checkVersion(Course.class, id, courseDetails.getVersion(), course.getVersion());
 
         course.setName(courseDetails.getName());
         course.setCode(courseDetails.getCode());
         course.setCredit(courseDetails.getCredit());
-        return courseRepository.save(course);
+        course.setCapacity(courseDetails.getCapacity());
+        course.setDepartment(department(courseDetails.getDepartment()));
+        course.setTeacher(teacher(courseDetails.getTeacher()));
+        eventPublisher.publishEvent(new EntityChangedEvent(Course.class));
+        return course;
     }
 
     @Transactional
     public void deleteCourse(Long id) {
         courseRepository.deleteById(id);
+        eventPublisher.publishEvent(new EntityChangedEvent(Course.class));
+    }
+
+    /**
+     * Deletes the given courses with a single DELETE. Returns the number of rows removed.
+     */
+    @Transactional
+    public int deleteCourses(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int deleted = courseRepository.deleteByIdIn(ids);
+        eventPublisher.publishEvent(new EntityChangedEvent(Course.class));
+        return deleted;
+    }
+
+    /**
+     * Deletes every course the list page's name filter {@code q} would show, in one statement.
+     */
+    @Transactional
+    public int deleteCoursesByName(String q) {
+        int deleted = courseRepository.deleteByNameLike(namePrefixPattern(q));
+        eventPublisher.publishEvent(new EntityChangedEvent(Course.class));
+        return deleted;
+    }
+
+    /**
+     * Sets the credit of the given courses with a single UPDATE. Returns the number of rows changed.
+     */
+    @Transactional
+    public int updateCredits(Collection<Long> ids, Float credit) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int updated = courseRepository.updateCreditByIdIn(ids, credit);
+        eventPublisher.publishEvent(new EntityChangedEvent(Course.class));
+        return updated;
+    }
+
+    // The forms bind only the id of the chosen department and teacher; a reference to it is
+    // all the foreign key needs, without loading the row
+    private Department department(Department selected) {
+        return selected == null || selected.getId() == null ? null : departmentRepository.getReferenceById(selected.getId());
+    }
+
+    private Teacher teacher(Teacher selected) {
+        return selected == null || selected.getId() == null ? null : teacherRepository.getReferenceById(selected.getId());
     }
-}
\ No newline at end of file
+}
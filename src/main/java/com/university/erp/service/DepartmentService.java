@@ -1,7 +1,11 @@
 package com.university.erp.service;
 
+import com.university.erp.dto.DepartmentRow;
 import com.university.erp.entity.Department;
+import com.university.erp.repository.CourseRepository;
 import com.university.erp.repository.DepartmentRepository;
+import com.university.erp.repository.TeacherRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -9,12 +13,20 @@ import java.util.List;
 import java.util.Optional;
 
 @Service
-public class DepartmentService {
+public class DepartmentService extends ListingService<DepartmentRow> {
 
     private final DepartmentRepository departmentRepository;
+    private final CourseRepository courseRepository;
+    private final TeacherRepository teacherRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public DepartmentService(DepartmentRepository departmentRepository) {
+    public DepartmentService(DepartmentRepository departmentRepository, CourseRepository courseRepository,
+                             TeacherRepository teacherRepository, ApplicationEventPublisher eventPublisher) {
+        super(departmentRepository, "id", "name");
         this.departmentRepository = departmentRepository;
+        this.courseRepository = courseRepository;
+        this.teacherRepository = teacherRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional(readOnly = true)
@@ -29,20 +41,28 @@ public class DepartmentService {
 
     @Transactional
     public Department createDepartment(Department department) {
-        return departmentRepository.save(department);
+        Department saved = departmentRepository.save(department);
+        eventPublisher.publishEvent(new EntityChangedEvent(Department.class));
+        return saved;
     }
 
     @Transactional
     public Department updateDepartment(Long id, Department departmentDetails) {
         Department department = departmentRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Department not found with id: " + id));
+        OptimisticLocks.checkVersion(Department.class, id, departmentDetails.getVersion(), department.getVersion());
 
         department.setName(departmentDetails.getName());
-        return departmentRepository.save(department);
+        eventPublisher.publishEvent(new EntityChangedEvent(Department.class));
+        return department;
     }
 
     @Transactional
     public void deleteDepartment(Long id) {
+        // Its courses and teachers stay, unassigned; the course update evicts the cached courses
+        courseRepository.unassignDepartment(id);
+        teacherRepository.unassignDepartment(id);
         departmentRepository.deleteById(id);
+        eventPublisher.publishEvent(new EntityChangedEvent(Department.class));
     }
 }
\ No newline at end of file
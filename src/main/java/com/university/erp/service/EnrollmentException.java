@@ -0,0 +1,27 @@
+package com.university.erp.service;
+
+/**
+ * A registration that was refused. Thrown inside the registration transaction, so
+ * anything it had written is rolled back.
+ */
+public class EnrollmentException extends RuntimeException {
+
+    public enum Reason {
+        ALREADY_ENROLLED,
+        ALREADY_WAITLISTED,
+        COURSE_FULL,
+        COURSE_NOT_FOUND,
+        SEATS_AVAILABLE
+    }
+
+    private final Reason reason;
+
+    public EnrollmentException(Reason reason, Long courseId) {
+        super(reason + " for course id: " + courseId);
+        this.reason = reason;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+}
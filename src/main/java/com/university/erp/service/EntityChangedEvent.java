@@ -0,0 +1,9 @@
+package com.university.erp.service;
+
+/**
+ * Published inside the writing transaction whenever rows of {@code entityType} are
+ * created, updated or deleted. Listeners that cache derived data (rendered list
+ * rows, for one) react after the commit.
+ */
+public record EntityChangedEvent(Class<?> entityType) {
+}
@@ -0,0 +1,104 @@
+package com.university.erp.service;
+
+import com.university.erp.dto.ListingPage;
+import com.university.erp.dto.ListingRequest;
+import com.university.erp.repository.ListingRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Base class for services that back a paged list page of {@code R} rows. Subclasses
+ * declare which fields may be sorted on; anything else in the request falls back to
+ * id order, so user input never reaches the ORDER BY clause unchecked.
+ */
+public abstract class ListingService<R> {
+
+    private static final String DEFAULT_SORT = "id";
+
+    private final ListingRepository<?, Long, R> listingRepository;
+    private final Set<String> sortableFields;
+
+    @Value("${app.pagination.default-size:20}")
+    private int defaultPageSize = 20;
+
+    @Value("${app.pagination.max-size:100}")
+    private int maxPageSize = 100;
+
+    protected ListingService(ListingRepository<?, Long, R> listingRepository, String... sortableFields) {
+        this.listingRepository = listingRepository;
+        this.sortableFields = Set.of(sortableFields);
+    }
+
+    /**
+     * One page of rows. They are projections, not entities: nothing is added to the
+     * persistence context, and the read-only transaction never flushes.
+     */
+    @Transactional(readOnly = true)
+    public ListingPage<R> list(ListingRequest request) {
+        ListingRequest resolved = resolve(request);
+        Pageable pageable = toPageable(resolved);
+
+        Slice<R> slice = resolved.isFiltered()
+                ? listingRepository.findRowsByNameLike(namePrefixPattern(resolved.q()), pageable)
+                : listingRepository.findRowsBy(pageable);
+
+        return new ListingPage<>(slice.getContent(), resolved, slice.hasPrevious(), slice.hasNext());
+    }
+
+    public Set<String> getSortableFields() {
+        return sortableFields;
+    }
+
+    /**
+     * Fills in defaults, clamps the page size and drops sort keys that are not whitelisted.
+     */
+    public ListingRequest resolve(ListingRequest request) {
+        int page = request.page() == null ? 0 : Math.max(0, request.page());
+        String sort = request.sort() != null && sortableFields.contains(request.sort())
+                ? request.sort()
+                : DEFAULT_SORT;
+        String dir = request.isDescending() ? "desc" : "asc";
+        String q = request.isFiltered() ? request.q().trim() : null;
+        return new ListingRequest(page, pageSize(request.size()), sort, dir, q);
+    }
+
+    /**
+     * The list filter's case-insensitive name-prefix match as a LIKE pattern for the
+     * list queries and the bulk statements, to be compared against {@code upper(name)} with
+     * {@code escape '!'}. Wildcards typed into the filter match literally.
+     */
+    protected static String namePrefixPattern(String q) {
+        if (q == null || q.isBlank()) {
+            throw new IllegalArgumentException("A name filter is required");
+        }
+        String escaped = q.trim().toUpperCase(Locale.ROOT)
+                .replace("!", "!!")
+                .replace("%", "!%")
+                .replace("_", "!_");
+        return escaped + "%";
+    }
+
+    protected int pageSize(Integer requested) {
+        if (requested == null) {
+            return defaultPageSize;
+        }
+        return Math.max(1, Math.min(requested, maxPageSize));
+    }
+
+    private Pageable toPageable(ListingRequest resolved) {
+        Sort.Direction direction = resolved.isDescending() ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Sort sort = Sort.by(direction, resolved.sort());
+        if (!DEFAULT_SORT.equals(resolved.sort())) {
+            // Tie-break on id so rows with equal sort values keep a stable order across pages
+            sort = sort.and(Sort.by(direction, DEFAULT_SORT));
+        }
+        return PageRequest.of(resolved.page(), resolved.size(), sort);
+    }
+}
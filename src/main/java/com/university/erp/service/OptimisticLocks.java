@@ -0,0 +1,26 @@
+package com.university.erp.service;
+
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+/**
+ * Version checks for edits submitted from a form. The {@code @Version} column on
+ * each editable entity is bumped on every update, and the edit forms send it back
+ * as a hidden field. {@code @Version} alone only guards the moment between loading
+ * a row and flushing it; comparing with the version the form was rendered from
+ * also covers the time the user spent editing.
+ */
+final class OptimisticLocks {
+
+    private OptimisticLocks() {
+    }
+
+    /**
+     * Throws if the submitted version is not the current one. A null {@code submitted}
+     * means the caller has no expectation (e.g. it just loaded the row itself).
+     */
+    static void checkVersion(Class<?> entityType, Long id, Long submitted, Long current) {
+        if (submitted != null && !submitted.equals(current)) {
+            throw new ObjectOptimisticLockingFailureException(entityType, id);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.university.erp.service;
+
+import com.university.erp.dto.CourseSeatView;
+import com.university.erp.entity.Course;
+import com.university.erp.entity.Enrollment;
+import com.university.erp.repository.CourseRepository;
+import com.university.erp.repository.CourseSeatsRepository;
+import com.university.erp.repository.EnrollmentRepository;
+import com.university.erp.repository.StudentRepository;
+import com.university.erp.service.EnrollmentException.Reason;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Course registration. Seats are claimed with one conditional UPDATE on the course's seat
+ * counter ({@link CourseSeatsRepository#claimSeat}), never by reading the count, comparing
+ * in Java and writing it back, so any number of concurrent registrations can only fill a
+ * course up to its capacity.
+ * <p>
+ * The claim is the last statement of the transaction, so the counter row, which every
+ * registration for that course waits on, is locked only while the transaction commits. The
+ * transaction timeout ({@code app.registration.timeout-seconds}) is applied to every
+ * statement, which bounds how long a registration can queue behind that lock.
+ */
+@Service
+public class RegistrationService {
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final CourseSeatsRepository courseSeatsRepository;
+    private final CourseRepository courseRepository;
+    private final StudentRepository studentRepository;
+
+    public RegistrationService(EnrollmentRepository enrollmentRepository, CourseSeatsRepository courseSeatsRepository,
+                               CourseRepository courseRepository, StudentRepository studentRepository) {
+        this.enrollmentRepository = enrollmentRepository;
+        this.courseSeatsRepository = courseSeatsRepository;
+        this.courseRepository = courseRepository;
+        this.studentRepository = studentRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public List<CourseSeatView> getCourseSeats() {
+        return courseSeatsRepository.findCourseSeats();
+    }
+
+    @Transactional(readOnly = true)
+    public Set<Long> getEnrolledCourseIds(Long studentId) {
+        return enrollmentRepository.findCourseIdsByStudentId(studentId);
+    }
+
+    /**
+     * Registers the student for the course, or throws {@link EnrollmentException} when they
+     * already are, the course is full or it does not exist.
+     */
+    @Transactional(timeoutString = "${app.registration.timeout-seconds:5}")
+    public Enrollment enroll(Long studentId, Long courseId) {
+        if (enrollmentRepository.existsByStudentIdAndCourseId(studentId, courseId)) {
+            throw new EnrollmentException(Reason.ALREADY_ENROLLED, courseId);
+        }
+        // Served from the second-level cache
+        Course course = courseRepository.findById(courseId)
+                .orElseThrow(() -> new EnrollmentException(Reason.COURSE_NOT_FOUND, courseId));
+
+        Enrollment enrollment = new Enrollment();
+        enrollment.setStudent(studentRepository.getReferenceById(studentId));
+        enrollment.setCourse(course);
+        enrollment.setEnrolledAt(Instant.now());
+        try {
+            // Inserted before the seat is claimed, so a double submit fails on the unique key
+            // without ever waiting for the counter row
+            enrollmentRepository.saveAndFlush(enrollment);
+        } catch (DataIntegrityViolationException ex) {
+            throw new EnrollmentException(Reason.ALREADY_ENROLLED, courseId);
+        }
+
+        if (courseSeatsRepository.claimSeat(courseId) == 0) {
+            // Rolls back the enrollment row too
+            throw new EnrollmentException(Reason.COURSE_FULL, courseId);
+        }
+        return enrollment;
+    }
+
+    /**
+     * Removes the student from the course and gives the seat back. Returns false, and
+     * changes nothing, when they were not enrolled, so a retried drop is harmless.
+     */
+    @Transactional(timeoutString = "${app.registration.timeout-seconds:5}")
+    public boolean drop(Long studentId, Long courseId) {
+        if (enrollmentRepository.deleteByStudentIdAndCourseId(studentId, courseId) == 0) {
+            return false;
+        }
+        courseSeatsRepository.releaseSeat(courseId);
+        return true;
+    }
+}
@@ -1,20 +1,37 @@
 package com.university.erp.service;
 
+import com.university.erp.dto.KeysetPage;
+import com.university.erp.dto.StudentRow;
 import com.university.erp.entity.Student;
+import com.university.erp.repository.CourseSeatsRepository;
 import com.university.erp.repository.StudentRepository;
+import com.university.erp.security.UserDetailsCache;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
 @Service
-public class StudentService {
+public class StudentService extends ListingService<StudentRow> {
 
     private final StudentRepository studentRepository;
+    private final CourseSeatsRepository courseSeatsRepository;
+    private final UserDetailsCache userDetailsCache;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public StudentService(StudentRepository studentRepository) {
+    public StudentService(StudentRepository studentRepository, CourseSeatsRepository courseSeatsRepository,
+                          UserDetailsCache userDetailsCache, ApplicationEventPublisher eventPublisher) {
+        super(studentRepository, "id", "name", "roll", "email");
         this.studentRepository = studentRepository;
+        this.courseSeatsRepository = courseSeatsRepository;
+        this.userDetailsCache = userDetailsCache;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional(readOnly = true)
@@ -27,25 +44,92 @@ public class StudentService {
         return studentRepository.findAll();
     }
 
+    /**
+     * Returns one page of students ordered by id, seeking from a cursor instead of
+     * using an offset. Pass {@code after} to move forward, {@code before} to move
+     * back, or neither for the first page. {@code size} is clamped like any other
+     * list page size.
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<StudentRow> getStudentPage(Long after, Long before, Integer requestedSize) {
+        int size = pageSize(requestedSize);
+        // Fetch one extra row to find out whether another page exists
+        Limit limit = Limit.of(size + 1);
+
+        if (before != null) {
+            List<StudentRow> rows = new ArrayList<>(studentRepository.findRowsBefore(before, limit));
+            boolean hasPrevious = trimToSize(rows, size);
+            Collections.reverse(rows);
+            return toPage(rows, size, hasPrevious, true);
+        }
+
+        List<StudentRow> rows = new ArrayList<>(after == null
+                ? studentRepository.findFirstRows(limit)
+                : studentRepository.findRowsAfter(after, limit));
+        boolean hasNext = trimToSize(rows, size);
+        return toPage(rows, size, after != null, hasNext);
+    }
+
     @Transactional
     public Student createStudent(Student student) {
-        return studentRepository.save(student);
+        Student saved = studentRepository.save(student);
+        eventPublisher.publishEvent(new EntityChangedEvent(Student.class));
+        return saved;
     }
 
     @Transactional
     public Student updateStudent(Long id, Student studentDetails) {
         Student student = studentRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Student not found with id: " + id));
+        OptimisticLocks.checkVersion(Student.class, id, studentDetails.getVersion(), student.getVersion());
+
+        // The cached login may be keyed by the old email, so drop it before it changes
+        userDetailsCache.evict(student.getEmail());
 
         student.setName(studentDetails.getName());
         student.setRoll(studentDetails.getRoll());
         student.setEmail(studentDetails.getEmail());
-        return studentRepository.save(student);
+        eventPublisher.publishEvent(new EntityChangedEvent(Student.class));
+        // Managed entity: dirty checking writes only the changed columns at commit, or nothing
+        return student;
     }
 
     @Transactional
     public void deleteStudent(Long id) {
+        // deleteById loads the row anyway, so this lookup is served from the persistence context
+        studentRepository.findById(id).ifPresent(student -> userDetailsCache.evict(student.getEmail()));
+        courseSeatsRepository.releaseSeatsOfStudents(List.of(id));
         studentRepository.deleteById(id);
+        eventPublisher.publishEvent(new EntityChangedEvent(Student.class));
+    }
+
+    /**
+     * Deletes the given students with a single DELETE instead of a lookup and a delete
+     * per row. Returns the number of rows removed.
+     */
+    @Transactional
+    public int deleteStudents(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        studentRepository.findEmailsByIdIn(ids).forEach(userDetailsCache::evict);
+        courseSeatsRepository.releaseSeatsOfStudents(ids);
+        int deleted = studentRepository.deleteByIdIn(ids);
+        eventPublisher.publishEvent(new EntityChangedEvent(Student.class));
+        return deleted;
+    }
+
+    /**
+     * Deletes every student the list page's name filter {@code q} would show, in one statement.
+     */
+    @Transactional
+    public int deleteStudentsByName(String q) {
+        String pattern = namePrefixPattern(q);
+        studentRepository.findEmailsByNameLike(pattern).forEach(userDetailsCache::evict);
+        courseSeatsRepository.releaseSeatsOfStudentsNamed(pattern);
+        int deleted = studentRepository.deleteByNameLike(pattern);
+        eventPublisher.publishEvent(new EntityChangedEvent(Student.class));
+        return deleted;
     }
 
     @Transactional(readOnly = true)
@@ -53,4 +137,21 @@ public class StudentService {
         return studentRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("Student not found with email: " + email));
     }
+
+    private static boolean trimToSize(List<StudentRow> rows, int size) {
+        if (rows.size() <= size) {
+            return false;
+        }
+        rows.subList(size, rows.size()).clear();
+        return true;
+    }
+
+    private static KeysetPage<StudentRow> toPage(List<StudentRow> rows, int size, boolean hasPrevious, boolean hasNext) {
+        if (rows.isEmpty()) {
+            return new KeysetPage<>(rows, size, null, null);
+        }
+        Long prevCursor = hasPrevious ? rows.get(0).id() : null;
+        Long nextCursor = hasNext ? rows.get(rows.size() - 1).id() : null;
+        return new KeysetPage<>(rows, size, prevCursor, nextCursor);
+    }
 }
\ No newline at end of file
@@ -1,20 +1,38 @@
 package com.university.erp.service;
 
+import com.university.erp.dto.TeacherRow;
+import com.university.erp.entity.Department;
 import com.university.erp.entity.Teacher;
+import com.university.erp.repository.CourseRepository;
+import com.university.erp.repository.DepartmentRepository;
 import com.university.erp.repository.TeacherRepository;
+import com.university.erp.security.UserDetailsCache;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Service
-public class TeacherService {
+public class TeacherService extends ListingService<TeacherRow> {
 
     private final TeacherRepository teacherRepository;
+    private final CourseRepository courseRepository;
+    private final DepartmentRepository departmentRepository;
+    private final UserDetailsCache userDetailsCache;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public TeacherService(TeacherRepository teacherRepository) {
+    public TeacherService(TeacherRepository teacherRepository, CourseRepository courseRepository,
+                          DepartmentRepository departmentRepository, UserDetailsCache userDetailsCache,
+                          ApplicationEventPublisher eventPublisher) {
+        super(teacherRepository, "id", "name", "employeeId", "email");
         this.teacherRepository = teacherRepository;
+        this.courseRepository = courseRepository;
+        this.departmentRepository = departmentRepository;
+        this.userDetailsCache = userDetailsCache;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional(readOnly = true)
@@ -29,23 +47,69 @@ public class TeacherService {
 
     @Transactional
     public Teacher createTeacher(Teacher teacher) {
-        return teacherRepository.save(teacher);
+        teacher.setDepartment(department(teacher.getDepartment()));
+        Teacher saved = teacherRepository.save(teacher);
+        // Course rows show their teacher's name
+        eventPublisher.publishEvent(new EntityChangedEvent(Teacher.class));
+        return saved;
     }
 
     @Transactional
     public Teacher updateTeacher(Long id, Teacher teacherDetails) {
         Teacher teacher = teacherRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Teacher not found with id: " + id));
+        OptimisticLocks.checkVersion(Teacher.class, id, teacherDetails.getVersion(), teacher.getVersion());
+
+        userDetailsCache.evict(teacher.getEmail());
 
         teacher.setName(teacherDetails.getName());
         teacher.setEmployeeId(teacherDetails.getEmployeeId());
         teacher.setEmail(teacherDetails.getEmail());
-
-        return teacherRepository.save(teacher);
+        teacher.setDepartment(department(teacherDetails.getDepartment()));
+        eventPublisher.publishEvent(new EntityChangedEvent(Teacher.class));
+        return teacher;
     }
 
     @Transactional
     public void deleteTeacher(Long id) {
+        // deleteById loads the row anyway, so this lookup is served from the persistence context
+        teacherRepository.findById(id).ifPresent(teacher -> userDetailsCache.evict(teacher.getEmail()));
+        courseRepository.unassignTeachers(List.of(id));
         teacherRepository.deleteById(id);
+        eventPublisher.publishEvent(new EntityChangedEvent(Teacher.class));
+    }
+
+    /**
+     * Deletes the given teachers with a single DELETE instead of a lookup and a delete
+     * per row. Returns the number of rows removed.
+     */
+    @Transactional
+    public int deleteTeachers(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        teacherRepository.findEmailsByIdIn(ids).forEach(userDetailsCache::evict);
+        courseRepository.unassignTeachers(ids);
+        int deleted = teacherRepository.deleteByIdIn(ids);
+        eventPublisher.publishEvent(new EntityChangedEvent(Teacher.class));
+        return deleted;
+    }
+
+    /**
+     * Deletes every teacher the list page's name filter {@code q} would show, in one statement.
+     */
+    @Transactional
+    public int deleteTeachersByName(String q) {
+        String pattern = namePrefixPattern(q);
+        teacherRepository.findEmailsByNameLike(pattern).forEach(userDetailsCache::evict);
+        courseRepository.unassignTeachersNamed(pattern);
+        int deleted = teacherRepository.deleteByNameLike(pattern);
+        eventPublisher.publishEvent(new EntityChangedEvent(Teacher.class));
+        return deleted;
+    }
+
+    // The form binds only the id of the chosen department
+    private Department department(Department selected) {
+        return selected == null || selected.getId() == null ? null : departmentRepository.getReferenceById(selected.getId());
     }
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.university.erp.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills seats freed by drops and capacity increases from the waitlists. Drops only give the
+ * seat back; the students waiting for it are enrolled here, every
+ * {@code app.waitlist.promotion-interval}, in batches of {@code app.waitlist.batch-size}.
+ * <p>
+ * Safe to run on several instances at once: concurrent batches skip each other's queue
+ * entries, and the seat claim refuses any batch that no longer fits.
+ */
+@Component
+@ConditionalOnProperty(name = "app.waitlist.promotion-enabled", havingValue = "true", matchIfMissing = true)
+public class WaitlistPromoter {
+
+    private static final Logger log = LoggerFactory.getLogger(WaitlistPromoter.class);
+
+    private final WaitlistService waitlistService;
+
+    public WaitlistPromoter(WaitlistService waitlistService) {
+        this.waitlistService = waitlistService;
+    }
+
+    @Scheduled(fixedDelayString = "${app.waitlist.promotion-interval:10s}")
+    public void promoteWaitingStudents() {
+        for (Long courseId : waitlistService.getCourseIdsToPromote()) {
+            int total = 0;
+            try {
+                int promoted;
+                do {
+                    promoted = waitlistService.promoteBatch(courseId);
+                    total += promoted;
+                } while (promoted > 0);
+            } catch (RuntimeException ex) {
+                // The failed batch was rolled back whole; the next run starts from the same students
+                log.warn("Waitlist promotion for course {} stopped after {} students: {}", courseId, total, ex.getMessage());
+                continue;
+            }
+            log.info("Promoted {} students from the waitlist of course {}", total, courseId);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.university.erp.service;
+
+import com.university.erp.entity.Course;
+import com.university.erp.entity.Enrollment;
+import com.university.erp.entity.WaitlistEntry;
+import com.university.erp.repository.CourseRepository;
+import com.university.erp.repository.CourseSeatsRepository;
+import com.university.erp.repository.EnrollmentRepository;
+import com.university.erp.repository.StudentRepository;
+import com.university.erp.repository.WaitlistRepository;
+import com.university.erp.service.EnrollmentException.Reason;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Course waitlists. Students queue for a full course and are promoted into freed seats
+ * oldest first, by {@link WaitlistPromoter}, up to {@code app.waitlist.batch-size} students
+ * per transaction.
+ * <p>
+ * A promotion batch enrolls its students, removes their entries and claims their seats in
+ * one transaction. If any step fails, nothing of the batch is kept and a retry starts from
+ * the same head of the queue; once a batch has committed, its students are no longer queued,
+ * so a retry cannot enroll anyone twice.
+ */
+@Service
+public class WaitlistService {
+
+    private final WaitlistRepository waitlistRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final CourseSeatsRepository courseSeatsRepository;
+    private final CourseRepository courseRepository;
+    private final StudentRepository studentRepository;
+    private final int batchSize;
+
+    public WaitlistService(WaitlistRepository waitlistRepository, EnrollmentRepository enrollmentRepository,
+                           CourseSeatsRepository courseSeatsRepository, CourseRepository courseRepository,
+                           StudentRepository studentRepository,
+                           @Value("${app.waitlist.batch-size:50}") int batchSize) {
+        this.waitlistRepository = waitlistRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.courseSeatsRepository = courseSeatsRepository;
+        this.courseRepository = courseRepository;
+        this.studentRepository = studentRepository;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Puts the student at the back of the course's queue, or throws {@link EnrollmentException}
+     * when they are already registered or queued, the course does not exist, or it has free
+     * seats nobody is waiting for.
+     */
+    @Transactional(timeoutString = "${app.registration.timeout-seconds:5}")
+    public WaitlistEntry join(Long studentId, Long courseId) {
+        if (enrollmentRepository.existsByStudentIdAndCourseId(studentId, courseId)) {
+            throw new EnrollmentException(Reason.ALREADY_ENROLLED, courseId);
+        }
+        if (waitlistRepository.existsByStudentIdAndCourseId(studentId, courseId)) {
+            throw new EnrollmentException(Reason.ALREADY_WAITLISTED, courseId);
+        }
+        Course course = courseRepository.findById(courseId)
+                .orElseThrow(() -> new EnrollmentException(Reason.COURSE_NOT_FOUND, courseId));
+        // Registrations are refused while anyone is queued, so an entry here would hold free
+        // seats back from everyone until the next promotion run
+        int free = courseSeatsRepository.findFreeSeats(courseId).orElse(0);
+        if (free > 0 && !waitlistRepository.existsByCourseId(courseId)) {
+            throw new EnrollmentException(Reason.SEATS_AVAILABLE, courseId);
+        }
+
+        WaitlistEntry entry = new WaitlistEntry();
+        entry.setStudent(studentRepository.getReferenceById(studentId));
+        entry.setCourse(course);
+        entry.setQueuedAt(Instant.now());
+        try {
+            waitlistRepository.saveAndFlush(entry);
+        } catch (DataIntegrityViolationException ex) {
+            throw new EnrollmentException(Reason.ALREADY_WAITLISTED, courseId);
+        }
+        return entry;
+    }
+
+    /**
+     * Takes the student off the course's queue. Returns false when they were not on it.
+     */
+    @Transactional
+    public boolean leave(Long studentId, Long courseId) {
+        return waitlistRepository.deleteByStudentIdAndCourseId(studentId, courseId) > 0;
+    }
+
+    /**
+     * The student's place in each queue they are on, by course id, starting at 1.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Long> getPositions(Long studentId) {
+        Map<Long, Long> positions = new HashMap<>();
+        for (WaitlistEntry entry : waitlistRepository.findByStudentId(studentId)) {
+            Long courseId = entry.getCourse().getId();
+            positions.put(courseId, waitlistRepository.countAhead(courseId, entry.getQueuedAt(), entry.getId()) + 1);
+        }
+        return positions;
+    }
+
+    @Transactional(readOnly = true)
+    public List<Long> getCourseIdsToPromote() {
+        return waitlistRepository.findCourseIdsToPromote();
+    }
+
+    /**
+     * Promotes the oldest waiting students of the course into its free seats, at most one
+     * batch of them. Returns how many were enrolled; 0 when there is no free seat or nobody
+     * is waiting.
+     */
+    @Transactional(timeoutString = "${app.registration.timeout-seconds:5}")
+    public int promoteBatch(Long courseId) {
+        int free = courseSeatsRepository.findFreeSeats(courseId).orElse(0);
+        if (free <= 0) {
+            return 0;
+        }
+        List<WaitlistEntry> head = waitlistRepository.findQueueHead(courseId, Limit.of(Math.min(free, batchSize)));
+        if (head.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> entryIds = new ArrayList<>(head.size());
+        List<Long> studentIds = new ArrayList<>(head.size());
+        for (WaitlistEntry entry : head) {
+            entryIds.add(entry.getId());
+            studentIds.add(entry.getStudent().getId());
+        }
+        Set<Long> alreadyEnrolled = enrollmentRepository.findEnrolledStudentIds(courseId, studentIds);
+
+        Instant now = Instant.now();
+        List<Enrollment> enrollments = new ArrayList<>(head.size());
+        for (WaitlistEntry entry : head) {
+            // Registered some other way since queueing: the entry is simply removed
+            if (alreadyEnrolled.contains(entry.getStudent().getId())) {
+                continue;
+            }
+            Enrollment enrollment = new Enrollment();
+            enrollment.setStudent(entry.getStudent());
+            enrollment.setCourse(entry.getCourse());
+            enrollment.setEnrolledAt(now);
+            enrollments.add(enrollment);
+        }
+        // One batched insert, flushed now so the seat claim below stays the last statement
+        enrollmentRepository.saveAllAndFlush(enrollments);
+        waitlistRepository.deleteByIdIn(entryIds);
+
+        if (!enrollments.isEmpty() && courseSeatsRepository.claimSeats(courseId, enrollments.size()) == 0) {
+            // The capacity was lowered, or a concurrent promotion took the seats: roll back the
+            // whole batch and let the next run read the free seats again
+            throw new EnrollmentException(Reason.COURSE_FULL, courseId);
+        }
+        return enrollments.size();
+    }
+}
@@ -0,0 +1,59 @@
+package com.university.erp.web;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@link AdmissionGate}s, one per name used in {@link AdmissionControlled}, created on
+ * first use. Gate {@code x} is sized by {@code app.admission.x.concurrency},
+ * {@code .queue-capacity} and {@code .max-wait}; whatever it leaves out comes from
+ * {@code app.admission.default.*}.
+ */
+public class AdmissionControl implements MeterBinder {
+
+    private static final String PREFIX = "app.admission.";
+
+    private final Environment environment;
+    private final Map<String, AdmissionGate> gates = new ConcurrentHashMap<>();
+    private MeterRegistry registry;
+
+    public AdmissionControl(Environment environment) {
+        this.environment = environment;
+    }
+
+    public AdmissionGate gate(String name) {
+        AdmissionGate gate = gates.get(name);
+        return gate != null ? gate : createGate(name);
+    }
+
+    @Override
+    public synchronized void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+        gates.values().forEach(gate -> gate.bindTo(registry));
+    }
+
+    // Synchronized with bindTo, so a gate created during startup is bound exactly once
+    private synchronized AdmissionGate createGate(String name) {
+        return gates.computeIfAbsent(name, key -> {
+            AdmissionGate gate = new AdmissionGate(key,
+                    Integer.parseInt(property(key, "concurrency", "4")),
+                    Integer.parseInt(property(key, "queue-capacity", "100")),
+                    DurationStyle.detectAndParse(property(key, "max-wait", "2s")));
+            if (registry != null) {
+                gate.bindTo(registry);
+            }
+            return gate;
+        });
+    }
+
+    private String property(String gate, String setting, String defaultValue) {
+        return environment.getProperty(PREFIX + gate + "." + setting,
+                environment.getProperty(PREFIX + "default." + setting, defaultValue));
+    }
+}
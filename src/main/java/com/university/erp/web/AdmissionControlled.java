@@ -0,0 +1,17 @@
+package com.university.erp.web;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Puts a handler method behind the named {@link AdmissionGate}. Handlers naming the same gate
+ * share its tokens; each gate is sized by {@code app.admission.<gate>.*}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface AdmissionControlled {
+
+    String value();
+}
@@ -0,0 +1,134 @@
+package com.university.erp.web;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A fixed number of tokens for one group of write endpoints. A request holds a token while
+ * it runs; when none is free it waits in a bounded line, first come first served, for at most
+ * the gate's maximum wait. Past that, or when the line is full, it is rejected at once with
+ * its would-be position and an estimated wait, instead of queueing on request threads and
+ * database connections until everyone times out.
+ */
+public class AdmissionGate {
+
+    static final String METRIC_PREFIX = "erp.admission";
+
+    // Moving average weight of each new hold time: 1/8
+    private static final int SMOOTHING = 8;
+
+    private final String name;
+    private final int concurrency;
+    private final int queueCapacity;
+    private final long maxWaitNanos;
+    private final Semaphore tokens;
+    private final AtomicInteger waiting = new AtomicInteger();
+    // Until the first request completes, assume 100 ms per request for the estimates
+    private final AtomicLong averageHoldNanos = new AtomicLong(TimeUnit.MILLISECONDS.toNanos(100));
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder queued = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public AdmissionGate(String name, int concurrency, int queueCapacity, Duration maxWait) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("Admission gate " + name + " needs a concurrency of at least 1");
+        }
+        this.name = name;
+        this.concurrency = concurrency;
+        this.queueCapacity = queueCapacity;
+        this.maxWaitNanos = maxWait.toNanos();
+        // Fair, so requests that waited are served before newcomers
+        this.tokens = new Semaphore(concurrency, true);
+    }
+
+    /**
+     * Takes a token, waiting for one if need be, or throws {@link AdmissionRejectedException}.
+     * Every successful call must be paired with {@link #exit}.
+     */
+    public void enter() {
+        try {
+            // The timed form honours fairness; plain tryAcquire() would jump the line
+            if (tokens.tryAcquire(0, TimeUnit.NANOSECONDS)) {
+                admitted.increment();
+                return;
+            }
+            int position = waiting.incrementAndGet();
+            if (position > queueCapacity) {
+                waiting.decrementAndGet();
+                throw reject(position);
+            }
+            queued.increment();
+            boolean acquired;
+            try {
+                acquired = tokens.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+            } finally {
+                waiting.decrementAndGet();
+            }
+            if (!acquired) {
+                throw reject(waiting.get() + 1);
+            }
+            admitted.increment();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw reject(waiting.get() + 1);
+        }
+    }
+
+    /**
+     * Gives the token back; {@code heldNanos} is how long the request held it.
+     */
+    public void exit(long heldNanos) {
+        tokens.release();
+        averageHoldNanos.accumulateAndGet(heldNanos, (average, sample) -> average + (sample - average) / SMOOTHING);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getWaiting() {
+        return waiting.get();
+    }
+
+    public int getInFlight() {
+        return concurrency - tokens.availablePermits();
+    }
+
+    void bindTo(MeterRegistry registry) {
+        // admitted: got a token, at once or after waiting; queued: had to wait; rejected: sent to the waiting room
+        counter(registry, "admitted", admitted);
+        counter(registry, "queued", queued);
+        counter(registry, "rejected", rejected);
+        Gauge.builder(METRIC_PREFIX + ".waiting", waiting, AtomicInteger::get)
+                .description("Requests waiting in line for a token")
+                .tag("gate", name)
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + ".in.flight", this, AdmissionGate::getInFlight)
+                .description("Requests holding a token")
+                .tag("gate", name)
+                .register(registry);
+    }
+
+    private void counter(MeterRegistry registry, String outcome, LongAdder count) {
+        FunctionCounter.builder(METRIC_PREFIX + ".requests", count, LongAdder::sum)
+                .description("Requests arriving at an admission gate, by outcome")
+                .tags("gate", name, "outcome", outcome)
+                .register(registry);
+    }
+
+    private AdmissionRejectedException reject(int position) {
+        rejected.increment();
+        // Everyone ahead still has to be served, concurrency requests at a time
+        long waitNanos = averageHoldNanos.get() * position / concurrency;
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        return new AdmissionRejectedException(name, position, retryAfterSeconds);
+    }
+}
@@ -0,0 +1,47 @@
+package com.university.erp.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Admits requests to {@link AdmissionControlled} handlers through their gate before the
+ * handler runs, and returns the token once the response is complete. A rejection is thrown
+ * as {@link AdmissionRejectedException}, before the handler touches the database.
+ */
+public class AdmissionInterceptor implements HandlerInterceptor {
+
+    private static final String GATE = AdmissionInterceptor.class.getName() + ".gate";
+    private static final String ADMITTED_AT = AdmissionInterceptor.class.getName() + ".admittedAt";
+
+    private final AdmissionControl admissionControl;
+
+    public AdmissionInterceptor(AdmissionControl admissionControl) {
+        this.admissionControl = admissionControl;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        AdmissionControlled admission = handlerMethod.getMethodAnnotation(AdmissionControlled.class);
+        if (admission == null) {
+            return true;
+        }
+        AdmissionGate gate = admissionControl.gate(admission.value());
+        gate.enter();
+        request.setAttribute(GATE, gate);
+        request.setAttribute(ADMITTED_AT, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(GATE) instanceof AdmissionGate gate) {
+            request.removeAttribute(GATE);
+            gate.exit(System.nanoTime() - (Long) request.getAttribute(ADMITTED_AT));
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.university.erp.web;
+
+/**
+ * Thrown when an {@link AdmissionGate} turns a request away: its waiting line was full, or
+ * no token came free within the gate's maximum wait. Carries what the waiting-room page
+ * tells the user.
+ */
+public class AdmissionRejectedException extends RuntimeException {
+
+    private final String gate;
+    private final int position;
+    private final long retryAfterSeconds;
+
+    public AdmissionRejectedException(String gate, int position, long retryAfterSeconds) {
+        super("Admission gate " + gate + " is saturated, position " + position);
+        this.gate = gate;
+        this.position = position;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public String getGate() {
+        return gate;
+    }
+
+    public int getPosition() {
+        return position;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,118 @@
+package com.university.erp.web;
+
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Supplier;
+
+/**
+ * Conditional GET for pages that only change when certain entities are written.
+ * The strong ETag is a digest of the session id and the {@link TableVersions} of
+ * those entities: the session covers everything per-user on the page (name, role,
+ * CSRF token), the versions cover the data. Last-Modified is the latest committed
+ * write among them.
+ * <p>
+ * Responses are marked {@code private, no-cache}, so browsers keep the page but
+ * revalidate it on every visit, and Spring Security's default {@code no-store}
+ * headers are not added.
+ */
+@Component
+public class ConditionalGet {
+
+    private final TableVersions tableVersions;
+
+    public ConditionalGet(TableVersions tableVersions) {
+        this.tableVersions = tableVersions;
+    }
+
+    /**
+     * Sets the validators on the response and returns true if the client's copy is
+     * still current, in which case the status is already 304 and the handler should
+     * return {@code null} without querying or rendering anything.
+     */
+    public boolean isNotModified(ServletWebRequest request, Class<?>... entityTypes) {
+        StringBuilder state = new StringBuilder();
+        long lastModified = tableVersions.startedAt();
+        for (Class<?> entityType : entityTypes) {
+            state.append(':').append(entityType.getName()).append('=').append(tableVersions.current(entityType));
+            lastModified = Math.max(lastModified, tableVersions.lastModified(entityType));
+        }
+        return isNotModified(request, state, lastModified);
+    }
+
+    /**
+     * Like {@link #isNotModified(ServletWebRequest, Class[])} for a page showing a
+     * single row, keyed by that row's {@code @Version} instead of its table's counter,
+     * so writes to other rows do not invalidate it. An edit form carries the row's
+     * version, so it stays valid exactly as long as that version. Sends no Last-Modified.
+     * {@code optionTypes} are tables the page lists in full, such as the choices of a
+     * select; any write to them does invalidate it.
+     * <p>
+     * The caller has loaded the row to know its version, so a 304 here saves the
+     * rendering but not the query.
+     */
+    public boolean isNotModified(ServletWebRequest request, Class<?> entityType, Object id, Long version,
+                                 Class<?>... optionTypes) {
+        StringBuilder state = new StringBuilder(":").append(entityType.getName())
+                .append('#').append(id).append('@').append(version);
+        for (Class<?> optionType : optionTypes) {
+            state.append(':').append(optionType.getName()).append('=').append(tableVersions.current(optionType));
+        }
+        return isNotModified(request, state, -1);
+    }
+
+    /**
+     * Like {@link #isNotModified(ServletWebRequest, Class, Object, Long, Class[])} for the
+     * row a session always shows, such as the signed-in user's own. Its id and version
+     * are kept in the session along with the table's counter and reused until the next
+     * write to that table, so an unchanged page is answered without querying;
+     * {@code current} loads them otherwise.
+     */
+    public boolean isNotModified(ServletWebRequest request, Class<?> entityType, Supplier<RowVersion> current) {
+        HttpSession session = request.getRequest().getSession(false);
+        if (session == null) {
+            return false;
+        }
+
+        String attribute = ConditionalGet.class.getName() + "." + entityType.getName();
+        // Read before loading: a write committing meanwhile leaves the kept row already stale
+        long counter = tableVersions.current(entityType);
+        RowVersion row;
+        if (session.getAttribute(attribute) instanceof KeptRow kept
+                && kept.startedAt() == tableVersions.startedAt() && kept.counter() == counter) {
+            row = kept.row();
+        } else {
+            row = current.get();
+            session.setAttribute(attribute, new KeptRow(tableVersions.startedAt(), counter, row));
+        }
+        return isNotModified(request, entityType, row.id(), row.version());
+    }
+
+    private boolean isNotModified(ServletWebRequest request, CharSequence state, long lastModified) {
+        HttpSession session = request.getRequest().getSession(false);
+        if (session == null) {
+            return false;
+        }
+
+        String key = session.getId() + ":" + tableVersions.startedAt() + state;
+        String etag = "\"" + DigestUtils.md5DigestAsHex(key.getBytes(StandardCharsets.UTF_8)) + "\"";
+
+        HttpServletResponse response = request.getResponse();
+        if (response != null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        }
+        return request.checkNotModified(etag, lastModified);
+    }
+
+    public record RowVersion(Long id, Long version) implements Serializable {
+    }
+
+    private record KeptRow(long startedAt, long counter, RowVersion row) implements Serializable {
+    }
+}
@@ -0,0 +1,9 @@
+package com.university.erp.web;
+
+import com.university.erp.dto.ListingPage;
+
+/**
+ * A list page together with its table rows already rendered to HTML.
+ */
+public record RenderedRows<T>(ListingPage<T> page, String html) {
+}
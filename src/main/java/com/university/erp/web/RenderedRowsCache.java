@@ -0,0 +1,110 @@
+package com.university.erp.web;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.university.erp.dto.ListingPage;
+import com.university.erp.dto.ListingRequest;
+import com.university.erp.service.ListingService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Caches the rendered table rows of list pages, so a repeated request for the same
+ * page is a map lookup instead of a query plus a Thymeleaf pass. Entries are keyed by
+ * template, edit permission, the resolved listing request and the {@link TableVersions}
+ * counters of the entity and of any related entity the rows show, so a committed write
+ * to any of them makes every older entry unreachable. Filtered (search) requests are rendered but never cached.
+ * <p>
+ * The row templates are rendered outside the web request: they get the rows as
+ * {@code rows}, a {@code canEdit} flag and the {@code contextPath}, and must not use
+ * {@code sec:} attributes or {@code @{...}} links. Hit/miss counts are published as
+ * {@code cache.gets} with {@code cache=renderedRows}.
+ */
+@Component
+public class RenderedRowsCache implements MeterBinder {
+
+    static final String CACHE_NAME = "renderedRows";
+
+    private static final Set<String> ROWS_FRAGMENT = Set.of("rows");
+
+    private final ITemplateEngine templateEngine;
+    private final TableVersions tableVersions;
+    private final String contextPath;
+    private final Cache<Key, RenderedRows<?>> cache;
+
+    public RenderedRowsCache(ITemplateEngine templateEngine, TableVersions tableVersions,
+                             @Value("${server.servlet.context-path:}") String contextPath,
+                             @Value("${app.render-cache.max-size:1000}") long maximumSize) {
+        this.templateEngine = templateEngine;
+        this.tableVersions = tableVersions;
+        this.contextPath = contextPath;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the page for {@code listing} with its rows rendered by the {@code rows}
+     * fragment of {@code template}, from the cache when nothing has changed since.
+     * {@code shownTypes} are the associated entities whose fields the rows display.
+     */
+    @SuppressWarnings("unchecked")
+    public <R> RenderedRows<R> get(String template, Class<?> entityType, ListingService<R> service,
+                                   ListingRequest listing, boolean canEdit, Class<?>... shownTypes) {
+        ListingRequest resolved = service.resolve(listing);
+        if (resolved.isFiltered()) {
+            return render(template, service.list(resolved), canEdit);
+        }
+
+        // Read the version before querying: if a write commits meanwhile, this entry is already stale
+        Key key = new Key(template, canEdit, resolved, versions(entityType, shownTypes));
+        RenderedRows<R> rows = (RenderedRows<R>) cache.getIfPresent(key);
+        if (rows == null) {
+            // Rendered outside Caffeine's compute lock, like UserDetailsCache, since it runs a query
+            rows = render(template, service.list(resolved), canEdit);
+            cache.put(key, rows);
+            // A write committed while rendering: the rows may predate it, and nothing can reach them
+            if (!key.versions().equals(versions(entityType, shownTypes))) {
+                cache.invalidate(key);
+            }
+        }
+        return rows;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+
+    private List<Long> versions(Class<?> entityType, Class<?>... shownTypes) {
+        List<Long> versions = new ArrayList<>(shownTypes.length + 1);
+        versions.add(tableVersions.current(entityType));
+        for (Class<?> shownType : shownTypes) {
+            versions.add(tableVersions.current(shownType));
+        }
+        return versions;
+    }
+
+    private <R> RenderedRows<R> render(String template, ListingPage<R> page, boolean canEdit) {
+        Context context = new Context();
+        context.setVariables(Map.of(
+                "rows", page.content(),
+                "canEdit", canEdit,
+                "contextPath", contextPath));
+        return new RenderedRows<>(page, templateEngine.process(template, ROWS_FRAGMENT, context));
+    }
+
+    private record Key(String template, boolean canEdit, ListingRequest listing, List<Long> versions) {
+    }
+}
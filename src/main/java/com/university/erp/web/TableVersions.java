@@ -0,0 +1,54 @@
+package com.university.erp.web;
+
+import com.university.erp.service.EntityChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * An in-memory change counter per entity type, bumped once a write commits, along
+ * with the time of that write. Anything cached under the version read before its
+ * query is unreachable as soon as a later write commits, so caches never have to
+ * be purged by hand.
+ * <p>
+ * Counters are local to this instance and start over on restart; {@link #startedAt()}
+ * tells the generations apart, and serves as the last-modified time of entities
+ * not written since.
+ */
+@Component
+public class TableVersions {
+
+    private final long startedAt = System.currentTimeMillis();
+    private final ConcurrentMap<Class<?>, Version> versions = new ConcurrentHashMap<>();
+
+    public long current(Class<?> entityType) {
+        return version(entityType).counter();
+    }
+
+    /**
+     * Epoch millis of the last committed write to {@code entityType}, or of startup.
+     */
+    public long lastModified(Class<?> entityType) {
+        return version(entityType).changedAt();
+    }
+
+    public long startedAt() {
+        return startedAt;
+    }
+
+    // Runs without a transaction too, for writers that publish outside one
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        versions.merge(event.entityType(), new Version(1, System.currentTimeMillis()),
+                (previous, next) -> new Version(previous.counter() + 1, Math.max(previous.changedAt(), next.changedAt())));
+    }
+
+    private Version version(Class<?> entityType) {
+        return versions.getOrDefault(entityType, new Version(0, startedAt));
+    }
+
+    private record Version(long counter, long changedAt) {
+    }
+}
@@ -0,0 +1,38 @@
+-- =============================================================================
+-- Move students, teachers, courses and departments from IDENTITY ids to the
+-- pooled sequences the entities now use (allocationSize = 50).
+--
+-- Run once against an existing PostgreSQL database, e.g.
+--   psql -U erp_user -d university_db -f 001-identity-to-pooled-sequences.sql
+-- A fresh database needs nothing: Hibernate creates the sequences itself.
+-- The script is idempotent and may also be run after the new version has
+-- already started once (it repositions sequences Hibernate created at 1).
+--
+-- Hibernate's pooled optimizer treats each nextval() as the top of a block of
+-- 50 ids, so every sequence is set to MAX(id) + 50: the first block then starts
+-- right above the existing rows.
+-- =============================================================================
+
+BEGIN;
+
+ALTER TABLE students ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS students_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE students_seq INCREMENT BY 50;
+SELECT setval('students_seq', COALESCE((SELECT MAX(id) FROM students), 0) + 50, false);
+
+ALTER TABLE teachers ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS teachers_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE teachers_seq INCREMENT BY 50;
+SELECT setval('teachers_seq', COALESCE((SELECT MAX(id) FROM teachers), 0) + 50, false);
+
+ALTER TABLE courses ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS courses_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE courses_seq INCREMENT BY 50;
+SELECT setval('courses_seq', COALESCE((SELECT MAX(id) FROM courses), 0) + 50, false);
+
+ALTER TABLE departments ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS departments_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE departments_seq INCREMENT BY 50;
+SELECT setval('departments_seq', COALESCE((SELECT MAX(id) FROM departments), 0) + 50, false);
+
+COMMIT;
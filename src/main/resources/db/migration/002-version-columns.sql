@@ -0,0 +1,18 @@
+-- =============================================================================
+-- Add the optimistic-locking version column to students, teachers, courses and
+-- departments. Existing rows start at version 0.
+--
+-- Run once against an existing PostgreSQL database, e.g.
+--   psql -U erp_user -d university_db -f 002-version-columns.sql
+-- A fresh database needs nothing: Hibernate creates the columns itself.
+-- The script is idempotent.
+-- =============================================================================
+
+BEGIN;
+
+ALTER TABLE students ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
+ALTER TABLE teachers ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
+ALTER TABLE courses ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
+ALTER TABLE departments ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
+
+COMMIT;
@@ -0,0 +1,39 @@
+-- =============================================================================
+-- Course registration: seat capacity on courses, the per-course seat counter
+-- and the enrollments table.
+--
+-- Run once against an existing PostgreSQL database, e.g.
+--   psql -U erp_user -d university_db -f 003-enrollment.sql
+-- A fresh database needs nothing: Hibernate creates the tables itself.
+-- The script is idempotent.
+--
+-- New courses get their counter row when they are created; existing courses
+-- are backfilled below. Running the script again is harmless.
+-- =============================================================================
+
+BEGIN;
+
+ALTER TABLE courses ADD COLUMN IF NOT EXISTS capacity integer NOT NULL DEFAULT 60;
+
+CREATE TABLE IF NOT EXISTS course_seats (
+    course_id bigint PRIMARY KEY REFERENCES courses (id) ON DELETE CASCADE,
+    taken     integer NOT NULL
+);
+
+INSERT INTO course_seats (course_id, taken)
+SELECT id, 0 FROM courses
+ON CONFLICT (course_id) DO NOTHING;
+
+CREATE SEQUENCE IF NOT EXISTS enrollments_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS enrollments (
+    id          bigint PRIMARY KEY,
+    student_id  bigint NOT NULL REFERENCES students (id) ON DELETE CASCADE,
+    course_id   bigint NOT NULL REFERENCES courses (id) ON DELETE CASCADE,
+    enrolled_at timestamp(6) with time zone NOT NULL,
+    CONSTRAINT uk_enrollments_student_course UNIQUE (student_id, course_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_enrollments_course ON enrollments (course_id);
+
+COMMIT;
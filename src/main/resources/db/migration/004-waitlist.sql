@@ -0,0 +1,26 @@
+-- =============================================================================
+-- Course waitlists: one queue entry per student and full course, promoted in
+-- queued_at order.
+--
+-- Run once against an existing PostgreSQL database, e.g.
+--   psql -U erp_user -d university_db -f 004-waitlist.sql
+-- A fresh database needs nothing: Hibernate creates the table itself.
+-- The script is idempotent.
+-- =============================================================================
+
+BEGIN;
+
+CREATE SEQUENCE IF NOT EXISTS waitlist_entries_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS waitlist_entries (
+    id         bigint PRIMARY KEY,
+    student_id bigint NOT NULL REFERENCES students (id) ON DELETE CASCADE,
+    course_id  bigint NOT NULL REFERENCES courses (id) ON DELETE CASCADE,
+    queued_at  timestamp(6) with time zone NOT NULL,
+    CONSTRAINT uk_waitlist_student_course UNIQUE (student_id, course_id)
+);
+
+-- Head of each queue and queue positions are range scans of this index
+CREATE INDEX IF NOT EXISTS idx_waitlist_course_queue ON waitlist_entries (course_id, queued_at, id);
+
+COMMIT;
@@ -0,0 +1,41 @@
+-- =============================================================================
+-- Department, course and teacher relationships: a course belongs to a
+-- department and is taught by a teacher; a teacher belongs to a department.
+-- All three links are optional, so existing rows stay valid unassigned.
+--
+-- Run once against an existing PostgreSQL database, e.g.
+--   psql -U erp_user -d university_db -f 005-relationships.sql
+-- A fresh database needs nothing: Hibernate creates the columns itself.
+-- The script is idempotent.
+-- =============================================================================
+
+BEGIN;
+
+ALTER TABLE courses  ADD COLUMN IF NOT EXISTS department_id bigint;
+ALTER TABLE courses  ADD COLUMN IF NOT EXISTS teacher_id    bigint;
+ALTER TABLE teachers ADD COLUMN IF NOT EXISTS department_id bigint;
+
+-- No ON DELETE action: the services unassign the rows before deleting a
+-- department or teacher, in a bulk update that also evicts the cached courses
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fk_courses_department') THEN
+        ALTER TABLE courses ADD CONSTRAINT fk_courses_department
+            FOREIGN KEY (department_id) REFERENCES departments (id);
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fk_courses_teacher') THEN
+        ALTER TABLE courses ADD CONSTRAINT fk_courses_teacher
+            FOREIGN KEY (teacher_id) REFERENCES teachers (id);
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fk_teachers_department') THEN
+        ALTER TABLE teachers ADD CONSTRAINT fk_teachers_department
+            FOREIGN KEY (department_id) REFERENCES departments (id);
+    END IF;
+END $$;
+
+-- The unassign updates and the teachers page's course lookup filter on these
+CREATE INDEX IF NOT EXISTS idx_courses_department  ON courses (department_id);
+CREATE INDEX IF NOT EXISTS idx_courses_teacher     ON courses (teacher_id);
+CREATE INDEX IF NOT EXISTS idx_teachers_department ON teachers (department_id);
+
+COMMIT;
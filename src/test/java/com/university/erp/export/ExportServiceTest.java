@@ -0,0 +1,115 @@
+package com.university.erp.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.erp.entity.Course;
+import com.university.erp.entity.Student;
+import com.university.erp.repository.CourseRepository;
+import com.university.erp.repository.DepartmentRepository;
+import com.university.erp.repository.StudentRepository;
+import com.university.erp.repository.TeacherRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExportServiceTest {
+
+    @Mock
+    private StudentRepository studentRepository;
+
+    @Mock
+    private TeacherRepository teacherRepository;
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private DepartmentRepository departmentRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ExportService exportService;
+    private Student student;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new ExportService(studentRepository, teacherRepository, courseRepository,
+                departmentRepository, entityManager, new ObjectMapper(), transactionManager);
+
+        student = new Student();
+        student.setId(1L);
+        student.setName("Doe, Jane");
+        student.setRoll(1001);
+        student.setEmail("jane@university.edu");
+        student.setPassword("$2a$10$secretHash");
+        student.setRole("STUDENT");
+    }
+
+    @Test
+    void testExportStudentsCsv() throws IOException {
+        // Arrange
+        AtomicBoolean closed = new AtomicBoolean();
+        when(studentRepository.streamAllByOrderByIdAsc()).thenReturn(Stream.of(student).onClose(() -> closed.set(true)));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // Act
+        exportService.export("students", ExportFormat.CSV, output);
+
+        // Assert: quoted where needed, no password, cursor closed, row detached
+        assertEquals("id,name,roll,email,role\r\n1,\"Doe, Jane\",1001,jane@university.edu,STUDENT\r\n",
+                output.toString(StandardCharsets.UTF_8));
+        assertTrue(closed.get());
+        verify(entityManager).detach(student);
+    }
+
+    @Test
+    void testExportCoursesNdjson() throws IOException {
+        // Arrange
+        Course first = new Course();
+        first.setId(1L);
+        first.setName("Databases");
+        first.setCode("CS305");
+        first.setCredit(3.0f);
+        Course second = new Course();
+        second.setId(2L);
+        second.setName("Networks");
+        second.setCode("CS340");
+        second.setCredit(3.5f);
+        when(courseRepository.streamAllByOrderByIdAsc()).thenReturn(Stream.of(first, second));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // Act
+        exportService.export("courses", ExportFormat.NDJSON, output);
+
+        // Assert
+        assertEquals("""
+                {"id":1,"name":"Databases","code":"CS305","credit":3.0}
+                {"id":2,"name":"Networks","code":"CS340","credit":3.5}
+                """, output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testUnknownEntity() {
+        // Act & Assert
+        assertFalse(exportService.supports("passwords"));
+        assertThrows(IllegalArgumentException.class,
+                () -> exportService.export("passwords", ExportFormat.CSV, new ByteArrayOutputStream()));
+    }
+}
@@ -0,0 +1,264 @@
+package com.university.erp.importer;
+
+import com.university.erp.entity.Course;
+import com.university.erp.entity.Student;
+import com.university.erp.entity.Teacher;
+import com.university.erp.repository.CourseRepository;
+import com.university.erp.repository.CourseSeatsRepository;
+import com.university.erp.repository.StudentRepository;
+import com.university.erp.repository.TeacherRepository;
+import com.university.erp.security.BoundedPasswordEncoder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkImportServiceTest {
+
+    private static final String EXISTING_HASH = "$2a$10$abcdefghijklmnopqrstuuOVqQ8dE7ZPnU3hS5vBvtY0ON8RbX1aK";
+
+    @Mock
+    private StudentRepository studentRepository;
+
+    @Mock
+    private TeacherRepository teacherRepository;
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private CourseSeatsRepository courseSeatsRepository;
+
+    @Mock
+    private PostgresCopyWriter copyWriter;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BoundedPasswordEncoder passwordEncoder;
+    private BulkImportService bulkImportService;
+    private final List<Student> savedStudents = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        // Lowest BCrypt cost keeps the test fast
+        passwordEncoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 1, 10, Duration.ofSeconds(5));
+        bulkImportService = new BulkImportService(studentRepository, teacherRepository, courseRepository,
+                courseSeatsRepository, passwordEncoder, copyWriter, eventPublisher, transactionManager);
+        ReflectionTestUtils.setField(bulkImportService, "hashingThreads", 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordEncoder.destroy();
+    }
+
+    @Test
+    void testImportStudents_ValidAndInvalidRows() {
+        // Arrange
+        stubStudentLookups();
+        recordStudentSaves();
+        String csv = """
+                name,roll,email,password
+                Alice,1001,Alice@University.edu,secret1
+                Bob,not-a-number,bob@university.edu,secret2
+                Carol,1003,carol-at-university,secret3
+                Dave,1004,dave@university.edu,%s
+                """.formatted(EXISTING_HASH);
+
+        // Act
+        ImportReport report = bulkImportService.importStudents(stream(csv), 0, ImportMode.JPA);
+
+        // Assert
+        assertFalse(report.isFailed());
+        assertEquals(4, report.getRowsRead());
+        assertEquals(2, report.getImported());
+        assertEquals(2, report.getRejected());
+        assertEquals(List.of(2L, 3L), report.getErrors().stream().map(ImportReport.RowError::row).toList());
+        assertEquals(4, report.getCommittedRows());
+
+        Student alice = savedStudents.get(0);
+        assertEquals("alice@university.edu", alice.getEmail());
+        assertTrue(passwordEncoder.unbounded().matches("secret1", alice.getPassword()));
+        // Pre-hashed passwords are stored unchanged
+        assertEquals(EXISTING_HASH, savedStudents.get(1).getPassword());
+    }
+
+    @Test
+    void testImportStudents_RejectsDuplicates() {
+        // Arrange: one email already in the database, one roll repeated within the file
+        when(studentRepository.findExistingEmails(anyCollection())).thenReturn(List.of("taken@university.edu"));
+        when(studentRepository.findExistingRolls(anyCollection())).thenReturn(List.of());
+        recordStudentSaves();
+        String csv = """
+                name,roll,email,password
+                Taken,1001,taken@university.edu,secret
+                First,1002,first@university.edu,secret
+                Second,1002,second@university.edu,secret
+                """;
+
+        // Act
+        ImportReport report = bulkImportService.importStudents(stream(csv), 0, ImportMode.JPA);
+
+        // Assert
+        assertEquals(1, report.getImported());
+        assertEquals(2, report.getRejected());
+        assertEquals("first@university.edu", savedStudents.get(0).getEmail());
+    }
+
+    @Test
+    void testImportStudents_StopsOnFailedChunkAndResumes() {
+        // Arrange: chunks of two rows, the second chunk fails to commit
+        ReflectionTestUtils.setField(bulkImportService, "chunkSize", 2);
+        stubStudentLookups();
+        AtomicInteger calls = new AtomicInteger();
+        when(studentRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            if (calls.incrementAndGet() == 2) {
+                throw new DataIntegrityViolationException("duplicate key");
+            }
+            return invocation.getArgument(0);
+        });
+        String csv = """
+                name,roll,email,password
+                S1,1,s1@university.edu,secret
+                S2,2,s2@university.edu,secret
+                S3,3,s3@university.edu,secret
+                S4,4,s4@university.edu,secret
+                S5,5,s5@university.edu,secret
+                """;
+
+        // Act
+        ImportReport failed = bulkImportService.importStudents(stream(csv), 0, ImportMode.JPA);
+        ImportReport resumed = bulkImportService.importStudents(stream(csv), failed.getCommittedRows(), ImportMode.JPA);
+
+        // Assert
+        assertTrue(failed.isFailed());
+        assertEquals(2, failed.getImported());
+        assertEquals(2, failed.getCommittedRows());
+
+        assertFalse(resumed.isFailed());
+        assertEquals(2, resumed.getResumedFrom());
+        assertEquals(3, resumed.getRowsRead());
+        assertEquals(3, resumed.getImported());
+        assertEquals(5, resumed.getCommittedRows());
+    }
+
+    @Test
+    void testImportTeachers_AcceptsHeaderVariants() {
+        // Arrange
+        when(teacherRepository.findExistingEmails(anyCollection())).thenReturn(List.of());
+        when(teacherRepository.findExistingEmployeeIds(anyCollection())).thenReturn(List.of());
+        List<Teacher> saved = new ArrayList<>();
+        when(teacherRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            saved.addAll(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        String csv = """
+                Name,Employee ID,Email,Password
+                Test Teacher,5001,teacher@university.edu,secret
+                """;
+
+        // Act
+        ImportReport report = bulkImportService.importTeachers(stream(csv), 0, ImportMode.JPA);
+
+        // Assert
+        assertEquals(1, report.getImported());
+        assertEquals(5001, saved.get(0).getEmployeeId());
+    }
+
+    @Test
+    void testImportCourses_CopyModeWritesThroughCopy() {
+        // Arrange
+        when(copyWriter.isAvailable()).thenReturn(true);
+        when(courseRepository.findExistingCodes(anyCollection())).thenReturn(List.of("CS101"));
+        when(copyWriter.write(any(CopyTable.class), anyList())).thenReturn(1);
+        String csv = """
+                name,code,credit
+                Intro,CS101,3
+                Databases,CS305,3.5
+                """;
+
+        // Act
+        ImportReport report = bulkImportService.importCourses(stream(csv), 0, ImportMode.COPY);
+
+        // Assert: the existing code is rejected, the other row is copied
+        assertEquals(ImportMode.COPY, report.getMode());
+        assertEquals(1, report.getImported());
+        assertEquals(1, report.getRejected());
+        verify(copyWriter).write(argThat(table -> table.table().equals("courses")),
+                eq(List.of(List.of("Databases", "CS305", 3.5f))));
+        verify(courseRepository, never()).saveAll(anyList());
+        verify(courseSeatsRepository).createMissing();
+    }
+
+    @Test
+    void testImportCourses_CopyModeFallsBackToJpa() {
+        // Arrange: not PostgreSQL
+        when(copyWriter.isAvailable()).thenReturn(false);
+        when(courseRepository.findExistingCodes(anyCollection())).thenReturn(List.of());
+        List<Course> saved = new ArrayList<>();
+        when(courseRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            saved.addAll(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+
+        // Act
+        ImportReport report = bulkImportService.importCourses(stream("name,code,credit\nIntro,CS101,3\n"), 0, ImportMode.COPY);
+
+        // Assert
+        assertEquals(ImportMode.JPA, report.getMode());
+        assertEquals("CS101", saved.get(0).getCode());
+        verify(copyWriter, never()).write(any(CopyTable.class), anyList());
+        verify(courseSeatsRepository).saveAll(argThat(seats -> seats.iterator().next().getCourse() == saved.get(0)));
+    }
+
+    @Test
+    void testImport_MissingColumnFails() {
+        // Act
+        ImportReport report = bulkImportService.importStudents(stream("name,email,password\n"), 0, ImportMode.JPA);
+
+        // Assert
+        assertTrue(report.isFailed());
+        assertEquals("Missing column: roll", report.getFailure());
+        verify(studentRepository, never()).saveAll(anyList());
+    }
+
+    private void stubStudentLookups() {
+        when(studentRepository.findExistingEmails(anyCollection())).thenReturn(List.of());
+        when(studentRepository.findExistingRolls(anyCollection())).thenReturn(List.of());
+    }
+
+    private void recordStudentSaves() {
+        when(studentRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            savedStudents.addAll(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+    }
+
+    private static InputStream stream(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+}
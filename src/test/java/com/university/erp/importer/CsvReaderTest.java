@@ -0,0 +1,58 @@
+package com.university.erp.importer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvReaderTest {
+
+    @Test
+    void testReadsPlainRecords() throws IOException {
+        // Arrange
+        CsvReader csv = new CsvReader(new StringReader("name,roll\r\nAlice,1\nBob,2"));
+
+        // Act & Assert
+        assertEquals(List.of("name", "roll"), csv.readRecord());
+        assertEquals(List.of("Alice", "1"), csv.readRecord());
+        assertEquals(List.of("Bob", "2"), csv.readRecord());
+        assertNull(csv.readRecord());
+        assertEquals(3, csv.getRecordNumber());
+    }
+
+    @Test
+    void testReadsQuotedFields() throws IOException {
+        // Arrange: comma, doubled quote and newline inside quotes
+        CsvReader csv = new CsvReader(new StringReader("\"Doe, Jane\",\"say \"\"hi\"\"\",\"two\nlines\"\n"));
+
+        // Act
+        List<String> record = csv.readRecord();
+
+        // Assert
+        assertEquals(List.of("Doe, Jane", "say \"hi\"", "two\nlines"), record);
+        assertNull(csv.readRecord());
+    }
+
+    @Test
+    void testKeepsEmptyFieldsAndSkipsBlankLines() throws IOException {
+        // Arrange
+        CsvReader csv = new CsvReader(new StringReader("a,,c\n\n\n,b,\n"));
+
+        // Act & Assert
+        assertEquals(List.of("a", "", "c"), csv.readRecord());
+        assertEquals(List.of("", "b", ""), csv.readRecord());
+        assertNull(csv.readRecord());
+    }
+
+    @Test
+    void testUnterminatedQuoteFails() {
+        // Arrange
+        CsvReader csv = new CsvReader(new StringReader("\"never closed,1\n"));
+
+        // Act & Assert
+        assertThrows(IOException.class, csv::readRecord);
+    }
+}
@@ -0,0 +1,48 @@
+package com.university.erp.importer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostgresCopyWriterTest {
+
+    private final CopyTable table = new CopyTable("students", "students_seq", 50,
+            new LinkedHashMap<>(Map.of("name", "varchar(50)")), Map.of("role", "'STUDENT'"));
+
+    @Test
+    void testToCsv_QuotesTextAndLeavesNullsEmpty() {
+        // Act
+        String csv = PostgresCopyWriter.toCsv(List.of(
+                List.of("Doe, \"Jane\"", 1001),
+                Arrays.asList("", null)));
+
+        // Assert: line number first; "" is an empty string, an unquoted gap is NULL
+        assertEquals("0,\"Doe, \"\"Jane\"\"\",1001\n1,\"\",\n", csv);
+    }
+
+    @Test
+    void testCopySql_ListsLineAndColumns() {
+        // Act & Assert
+        assertEquals("COPY students_import (line, name) FROM STDIN WITH (FORMAT csv)",
+                PostgresCopyWriter.copySql(table));
+    }
+
+    @Test
+    void testMergeSql_AllocatesIdsInSequenceBlocks() {
+        // Act
+        String sql = PostgresCopyWriter.mergeSql(table, 3);
+
+        // Assert: one spare nextval, ids below each block top, constants filled in, conflicts skipped
+        assertTrue(sql.contains("nextval('students_seq') AS top FROM generate_series(0, 3)"));
+        assertTrue(sql.contains("WHERE top >= 50"));
+        assertTrue(sql.contains("INSERT INTO students (id, name, role)"));
+        assertTrue(sql.contains("SELECT b.top - 49 + s.line % 50, s.name, 'STUDENT'"));
+        assertTrue(sql.contains("JOIN blocks b ON b.n = s.line / 50"));
+        assertTrue(sql.endsWith("ON CONFLICT DO NOTHING"));
+    }
+}
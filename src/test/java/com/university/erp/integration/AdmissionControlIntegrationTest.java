@@ -0,0 +1,110 @@
+package com.university.erp.integration;
+
+import com.university.erp.config.SecurityConfig;
+import com.university.erp.controller.RegistrationController;
+import com.university.erp.entity.Student;
+import com.university.erp.security.CustomUserDetailsService;
+import com.university.erp.service.RegistrationService;
+import com.university.erp.service.StudentService;
+import com.university.erp.service.WaitlistService;
+import com.university.erp.web.AdmissionControl;
+import com.university.erp.web.AdmissionGate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * A saturated enroll gate with no room to wait: registrations get the waiting room, while
+ * drops, which have a gate of their own, still go through.
+ */
+@WebMvcTest(controllers = RegistrationController.class, properties = {
+        "app.admission.enroll.concurrency=1",
+        "app.admission.enroll.queue-capacity=0"})
+@Import(SecurityConfig.class)
+class AdmissionControlIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AdmissionControl admissionControl;
+
+    @MockitoBean
+    private RegistrationService registrationService;
+
+    @MockitoBean
+    private WaitlistService waitlistService;
+
+    @MockitoBean
+    private StudentService studentService;
+
+    @MockitoBean
+    private CustomUserDetailsService customUserDetailsService;
+
+    private AdmissionGate enrollGate;
+
+    @BeforeEach
+    void setUp() {
+        Student student = new Student();
+        student.setId(1L);
+        student.setEmail("student@university.edu");
+        when(studentService.findByEmail("student@university.edu")).thenReturn(student);
+
+        // Another registration is holding the only token
+        enrollGate = admissionControl.gate("enroll");
+        enrollGate.enter();
+    }
+
+    @AfterEach
+    void tearDown() {
+        enrollGate.exit(0);
+    }
+
+    @Test
+    @WithMockUser(username = "student@university.edu", roles = "STUDENT")
+    void testEnroll_SaturatedGateShowsWaitingRoom() throws Exception {
+        mockMvc.perform(post("/registration/10/enroll")
+                        .with(csrf()))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(view().name("error/waiting-room"))
+                .andExpect(model().attribute("position", 1))
+                .andExpect(content().string(containsString("/registration/10/enroll")));
+
+        // Turned away before the handler ran
+        verifyNoInteractions(registrationService);
+    }
+
+    @Test
+    @WithMockUser(username = "student@university.edu", roles = "STUDENT")
+    void testJoinWaitlist_SharesTheEnrollGate() throws Exception {
+        mockMvc.perform(post("/registration/10/waitlist")
+                        .with(csrf()))
+                .andExpect(status().isServiceUnavailable());
+
+        verifyNoInteractions(waitlistService);
+    }
+
+    @Test
+    @WithMockUser(username = "student@university.edu", roles = "STUDENT")
+    void testDrop_OwnGateStillAdmits() throws Exception {
+        mockMvc.perform(post("/registration/10/drop")
+                        .with(csrf()))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/registration?dropped"));
+
+        verify(registrationService, times(1)).drop(1L, 10L);
+    }
+}
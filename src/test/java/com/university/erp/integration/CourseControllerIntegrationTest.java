@@ -2,21 +2,38 @@ package com.university.erp.integration;
 
 import com.university.erp.config.SecurityConfig;
 import com.university.erp.controller.CourseController;
+import com.university.erp.dto.CourseRow;
+import com.university.erp.dto.ListingPage;
+import com.university.erp.dto.ListingRequest;
 import com.university.erp.entity.Course;
+import com.university.erp.entity.Department;
+import com.university.erp.entity.Teacher;
 import com.university.erp.security.CustomUserDetailsService;
 import com.university.erp.service.CourseService;
+import com.university.erp.service.DepartmentService;
+import com.university.erp.service.EntityChangedEvent;
+import com.university.erp.service.TeacherService;
+import com.university.erp.web.ConditionalGet;
+import com.university.erp.web.RenderedRowsCache;
+import com.university.erp.web.TableVersions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.matchesRegex;
+import static org.hamcrest.Matchers.not;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -26,19 +43,29 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(CourseController.class)
-@Import(SecurityConfig.class)
+@Import({SecurityConfig.class, RenderedRowsCache.class, ConditionalGet.class, TableVersions.class})
 class CourseControllerIntegrationTest {
 
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private TableVersions tableVersions;
+
     @MockitoBean
     private CourseService courseService;
 
+    @MockitoBean
+    private DepartmentService departmentService;
+
+    @MockitoBean
+    private TeacherService teacherService;
+
     @MockitoBean
     private CustomUserDetailsService customUserDetailsService;
 
     private Course testCourse;
+    private CourseRow testRow;
 
     @BeforeEach
     void setUp() {
@@ -47,6 +74,10 @@ class CourseControllerIntegrationTest {
         testCourse.setName("Introduction to Java");
         testCourse.setCode("CSE101");
         testCourse.setCredit(3.0f);
+        testRow = new CourseRow(1L, "Introduction to Java", "CSE101", 3.0f, null, null);
+
+        // The rendered-rows cache resolves the request before listing
+        when(courseService.resolve(any(ListingRequest.class))).thenAnswer(invocation -> invocation.getArgument(0));
     }
 
     // ---- LIST ----
@@ -54,24 +85,76 @@ class CourseControllerIntegrationTest {
     @Test
     @WithMockUser(roles = "TEACHER")
     void testListCourses_AsTeacher() throws Exception {
-        when(courseService.getAllCourses()).thenReturn(Arrays.asList(testCourse));
+        when(courseService.list(any(ListingRequest.class)))
+                .thenReturn(new ListingPage<>(Arrays.asList(testRow), new ListingRequest(0, 20, "id", "asc", null), false, false));
 
         mockMvc.perform(get("/courses"))
                 .andExpect(status().isOk())
                 .andExpect(view().name("courses/list"))
-                .andExpect(model().attributeExists("courses"));
+                .andExpect(model().attributeExists("courses"))
+                .andExpect(content().string(containsString("/courses/edit/1")));
 
-        verify(courseService, times(1)).getAllCourses();
+        verify(courseService, times(1)).list(any(ListingRequest.class));
     }
 
     @Test
     @WithMockUser(roles = "STUDENT")
     void testListCourses_AsStudent() throws Exception {
-        when(courseService.getAllCourses()).thenReturn(Arrays.asList(testCourse));
+        when(courseService.list(any(ListingRequest.class)))
+                .thenReturn(new ListingPage<>(Arrays.asList(testRow), new ListingRequest(0, 20, "id", "asc", null), false, false));
 
         mockMvc.perform(get("/courses"))
                 .andExpect(status().isOk())
-                .andExpect(view().name("courses/list"));
+                .andExpect(view().name("courses/list"))
+                .andExpect(content().string(containsString(">1</td>")))
+                .andExpect(content().string(not(containsString("/courses/edit/1"))));
+    }
+
+    @Test
+    @WithMockUser(roles = "STUDENT")
+    void testListCourses_ConditionalGet() throws Exception {
+        when(courseService.list(any(ListingRequest.class)))
+                .thenReturn(new ListingPage<>(Arrays.asList(testRow), new ListingRequest(0, 20, "id", "asc", null), false, false));
+        MockHttpSession session = new MockHttpSession();
+
+        String etag = mockMvc.perform(get("/courses").session(session))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/courses").session(session).header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        // A committed course write changes the ETag
+        tableVersions.onEntityChanged(new EntityChangedEvent(Course.class));
+        mockMvc.perform(get("/courses").session(session).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)));
+    }
+
+    @Test
+    @WithMockUser(roles = "STUDENT")
+    void testListCourses_ShowsDepartmentAndTeacher() throws Exception {
+        ListingRequest listing = new ListingRequest(0, 20, "id", "asc", null);
+        when(courseService.list(any(ListingRequest.class)))
+                .thenReturn(new ListingPage<>(List.of(new CourseRow(1L, "Introduction to Java", "CSE101", 3.0f,
+                        "Computer Science", "Dr. Rahman")), listing, false, false))
+                .thenReturn(new ListingPage<>(List.of(new CourseRow(1L, "Introduction to Java", "CSE101", 3.0f,
+                        "Computer Science", "Prof. Rahman")), listing, false, false));
+        // Rows rendered by the other tests share this context's cache
+        tableVersions.onEntityChanged(new EntityChangedEvent(Course.class));
+        MockHttpSession session = new MockHttpSession();
+
+        String etag = mockMvc.perform(get("/courses").session(session))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(">Computer Science</td>")))
+                .andExpect(content().string(containsString(">Dr. Rahman</td>")))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // Renaming the teacher changes what the rows show, so both the ETag and the cached rows go
+        tableVersions.onEntityChanged(new EntityChangedEvent(Teacher.class));
+        mockMvc.perform(get("/courses").session(session).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(">Prof. Rahman</td>")));
     }
 
     @Test
@@ -116,6 +199,22 @@ class CourseControllerIntegrationTest {
         verify(courseService, times(1)).createCourse(any(Course.class));
     }
 
+    @Test
+    @WithMockUser(roles = "TEACHER")
+    void testCreateCourse_BindsSelectedIds() throws Exception {
+        mockMvc.perform(post("/courses")
+                        .with(csrf())
+                        .param("name", "Introduction to Java")
+                        .param("code", "CSE101")
+                        .param("credit", "3.0")
+                        .param("department.id", "5")
+                        .param("teacher.id", ""))
+                .andExpect(status().is3xxRedirection());
+
+        verify(courseService).createCourse(argThat(course ->
+                course.getDepartment().getId() == 5L && course.getTeacher().getId() == null));
+    }
+
     @Test
     @WithMockUser(roles = "STUDENT")
     void testCreateCourse_AsStudent_Forbidden() throws Exception {
@@ -137,11 +236,27 @@ class CourseControllerIntegrationTest {
         mockMvc.perform(get("/courses/edit/1"))
                 .andExpect(status().isOk())
                 .andExpect(view().name("courses/form"))
-                .andExpect(model().attributeExists("course"));
+                .andExpect(model().attributeExists("course", "departments", "teachers"));
 
         verify(courseService, times(1)).getCourseById(1L);
     }
 
+    @Test
+    @WithMockUser(roles = "TEACHER")
+    void testShowEditForm_SelectsCurrentDepartment() throws Exception {
+        Department department = new Department();
+        department.setId(5L);
+        department.setName("Computer Science");
+        testCourse.setDepartment(department);
+        when(courseService.getCourseById(1L)).thenReturn(Optional.of(testCourse));
+        when(departmentService.getAllDepartments()).thenReturn(List.of(department));
+
+        mockMvc.perform(get("/courses/edit/1"))
+                .andExpect(status().isOk())
+                // selected is rendered on the line after value
+                .andExpect(content().string(matchesRegex("(?s).*value=\"5\"\\s+selected=\"selected\".*")));
+    }
+
     @Test
     @WithMockUser(roles = "STUDENT")
     void testShowEditForm_AsStudent_Forbidden() throws Exception {
@@ -168,6 +283,24 @@ class CourseControllerIntegrationTest {
         verify(courseService, times(1)).updateCourse(eq(1L), any(Course.class));
     }
 
+    @Test
+    @WithMockUser(roles = "TEACHER")
+    void testUpdateCourse_StaleVersion_Conflict() throws Exception {
+        when(courseService.updateCourse(eq(1L), any(Course.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Course.class, 1L));
+
+        mockMvc.perform(post("/courses/update")
+                        .with(csrf())
+                        .param("id", "1")
+                        .param("version", "2")
+                        .param("name", "Advanced Java")
+                        .param("code", "CSE201")
+                        .param("credit", "4.0"))
+                .andExpect(status().isConflict())
+                .andExpect(view().name("error/conflict"))
+                .andExpect(model().attribute("reloadUrl", "/courses/edit/1"));
+    }
+
     @Test
     @WithMockUser(roles = "STUDENT")
     void testUpdateCourse_AsStudent_Forbidden() throws Exception {
@@ -200,4 +333,56 @@ class CourseControllerIntegrationTest {
         mockMvc.perform(get("/courses/delete/1"))
                 .andExpect(status().isForbidden());
     }
+
+    // ---- BULK ----
+
+    @Test
+    @WithMockUser(roles = "TEACHER")
+    void testBulkDeleteCourses_AsTeacher() throws Exception {
+        when(courseService.deleteCourses(List.of(1L, 2L))).thenReturn(2);
+
+        mockMvc.perform(post("/courses/bulk/delete")
+                        .with(csrf())
+                        .param("ids", "1", "2"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/courses?deleted=2"));
+
+        verify(courseService, times(1)).deleteCourses(List.of(1L, 2L));
+    }
+
+    @Test
+    @WithMockUser(roles = "TEACHER")
+    void testBulkDeleteMatchingCourses_AsTeacher() throws Exception {
+        when(courseService.deleteCoursesByName("Intro")).thenReturn(3);
+
+        mockMvc.perform(post("/courses/bulk/delete-matching")
+                        .with(csrf())
+                        .param("q", "Intro"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/courses?deleted=3"));
+    }
+
+    @Test
+    @WithMockUser(roles = "TEACHER")
+    void testBulkUpdateCredits_AsTeacher() throws Exception {
+        when(courseService.updateCredits(List.of(1L), 4.0f)).thenReturn(1);
+
+        mockMvc.perform(post("/courses/bulk/credit")
+                        .with(csrf())
+                        .param("ids", "1")
+                        .param("credit", "4.0"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/courses?updated=1"));
+    }
+
+    @Test
+    @WithMockUser(roles = "STUDENT")
+    void testBulkDeleteCourses_AsStudent_Forbidden() throws Exception {
+        mockMvc.perform(post("/courses/bulk/delete")
+                        .with(csrf())
+                        .param("ids", "1"))
+                .andExpect(status().isForbidden());
+
+        verify(courseService, never()).deleteCourses(any());
+    }
 }
@@ -2,9 +2,15 @@ package com.university.erp.integration;
 
 import com.university.erp.config.SecurityConfig;
 import com.university.erp.controller.DepartmentController;
+import com.university.erp.dto.DepartmentRow;
+import com.university.erp.dto.ListingPage;
+import com.university.erp.dto.ListingRequest;
 import com.university.erp.entity.Department;
 import com.university.erp.security.CustomUserDetailsService;
 import com.university.erp.service.DepartmentService;
+import com.university.erp.web.ConditionalGet;
+import com.university.erp.web.RenderedRowsCache;
+import com.university.erp.web.TableVersions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,6 +23,8 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.util.Arrays;
 import java.util.Optional;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -26,7 +34,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(DepartmentController.class)
-@Import(SecurityConfig.class)
+@Import({SecurityConfig.class, RenderedRowsCache.class, ConditionalGet.class, TableVersions.class})
 class DepartmentControllerIntegrationTest {
 
     @Autowired
@@ -45,6 +53,9 @@ class DepartmentControllerIntegrationTest {
         testDepartment = new Department();
         testDepartment.setId(1L);
         testDepartment.setName("Computer Science");
+
+        // The rendered-rows cache resolves the request before listing
+        when(departmentService.resolve(any(ListingRequest.class))).thenAnswer(invocation -> invocation.getArgument(0));
     }
 
     // ---- LIST ----
@@ -52,24 +63,29 @@ class DepartmentControllerIntegrationTest {
     @Test
     @WithMockUser(roles = "TEACHER")
     void testListDepartments_AsTeacher() throws Exception {
-        when(departmentService.getAllDepartments()).thenReturn(Arrays.asList(testDepartment));
+        when(departmentService.list(any(ListingRequest.class)))
+                .thenReturn(new ListingPage<>(Arrays.asList(new DepartmentRow(1L, "Computer Science")), new ListingRequest(0, 20, "id", "asc", null), false, false));
 
         mockMvc.perform(get("/departments"))
                 .andExpect(status().isOk())
                 .andExpect(view().name("departments/list"))
-                .andExpect(model().attributeExists("departments"));
+                .andExpect(model().attributeExists("departments"))
+                .andExpect(content().string(containsString("/departments/edit/1")));
 
-        verify(departmentService, times(1)).getAllDepartments();
+        verify(departmentService, times(1)).list(any(ListingRequest.class));
     }
 
     @Test
     @WithMockUser(roles = "STUDENT")
     void testListDepartments_AsStudent() throws Exception {
-        when(departmentService.getAllDepartments()).thenReturn(Arrays.asList(testDepartment));
+        when(departmentService.list(any(ListingRequest.class)))
+                .thenReturn(new ListingPage<>(Arrays.asList(new DepartmentRow(1L, "Computer Science")), new ListingRequest(0, 20, "id", "asc", null), false, false));
 
         mockMvc.perform(get("/departments"))
                 .andExpect(status().isOk())
-                .andExpect(view().name("departments/list"));
+                .andExpect(view().name("departments/list"))
+                .andExpect(content().string(containsString(">1</td>")))
+                .andExpect(content().string(not(containsString("/departments/edit/1"))));
     }
 
     @Test
@@ -0,0 +1,78 @@
+package com.university.erp.integration;
+
+import com.university.erp.config.SecurityConfig;
+import com.university.erp.controller.ExportController;
+import com.university.erp.export.ExportFormat;
+import com.university.erp.export.ExportService;
+import com.university.erp.security.CustomUserDetailsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ExportController.class)
+@Import(SecurityConfig.class)
+class ExportControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ExportService exportService;
+
+    @MockitoBean
+    private CustomUserDetailsService customUserDetailsService;
+
+    @Test
+    @WithMockUser(roles = "TEACHER")
+    void testExportStudents_AsTeacher() throws Exception {
+        when(exportService.supports("students")).thenReturn(true);
+        doAnswer(invocation -> {
+            OutputStream output = invocation.getArgument(2);
+            output.write("id,name\r\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(exportService).export(eq("students"), eq(ExportFormat.CSV), any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(get("/export/students"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"students.csv\""))
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(content().string("id,name\r\n"));
+    }
+
+    @Test
+    @WithMockUser(roles = "TEACHER")
+    void testExportUnknownEntity_NotFound() throws Exception {
+        when(exportService.supports("grades")).thenReturn(false);
+
+        mockMvc.perform(get("/export/grades"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockUser(roles = "STUDENT")
+    void testExport_AsStudent_Forbidden() throws Exception {
+        mockMvc.perform(get("/export/students").param("format", "NDJSON"))
+                .andExpect(status().isForbidden());
+
+        verify(exportService, never()).export(any(), any(), any());
+    }
+}
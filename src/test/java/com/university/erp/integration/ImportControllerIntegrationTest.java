@@ -0,0 +1,82 @@
+package com.university.erp.integration;
+
+import com.university.erp.config.SecurityConfig;
+import com.university.erp.controller.ImportController;
+import com.university.erp.importer.BulkImportService;
+import com.university.erp.importer.ImportMode;
+import com.university.erp.importer.ImportReport;
+import com.university.erp.security.CustomUserDetailsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.InputStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ImportController.class)
+@Import(SecurityConfig.class)
+class ImportControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private BulkImportService bulkImportService;
+
+    @MockitoBean
+    private CustomUserDetailsService customUserDetailsService;
+
+    private final MockMultipartFile file = new MockMultipartFile(
+            "file", "students.csv", "text/csv", "name,roll,email,password\n".getBytes());
+
+    @Test
+    @WithMockUser(roles = "TEACHER")
+    void testShowImportForm_AsTeacher() throws Exception {
+        mockMvc.perform(get("/import"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("import/form"));
+    }
+
+    @Test
+    @WithMockUser(roles = "STUDENT")
+    void testShowImportForm_AsStudent_Forbidden() throws Exception {
+        mockMvc.perform(get("/import"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(roles = "TEACHER")
+    void testImportStudents_AsTeacher() throws Exception {
+        when(bulkImportService.importStudents(any(InputStream.class), eq(2000L), eq(ImportMode.COPY)))
+                .thenReturn(new ImportReport("students", ImportMode.COPY, 100));
+
+        mockMvc.perform(multipart("/import/students").file(file)
+                        .param("skip", "2000").param("mode", "COPY").with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(view().name("import/form"))
+                .andExpect(model().attributeExists("report"));
+
+        verify(bulkImportService, times(1)).importStudents(any(InputStream.class), eq(2000L), eq(ImportMode.COPY));
+    }
+
+    @Test
+    @WithMockUser(roles = "STUDENT")
+    void testImportTeachers_AsStudent_Forbidden() throws Exception {
+        mockMvc.perform(multipart("/import/teachers").file(file).with(csrf()))
+                .andExpect(status().isForbidden());
+
+        verify(bulkImportService, never()).importTeachers(any(InputStream.class), anyLong(), any(ImportMode.class));
+    }
+}
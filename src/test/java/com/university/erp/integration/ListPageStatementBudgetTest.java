@@ -0,0 +1,212 @@
+package com.university.erp.integration;
+
+import com.university.erp.entity.Course;
+import com.university.erp.entity.Department;
+import com.university.erp.entity.Student;
+import com.university.erp.entity.Teacher;
+import com.university.erp.repository.CourseRepository;
+import com.university.erp.repository.DepartmentRepository;
+import com.university.erp.repository.StudentRepository;
+import com.university.erp.repository.TeacherRepository;
+import com.university.erp.service.EntityChangedEvent;
+import com.university.erp.web.TableVersions;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * N+1 detector for the list pages: renders each one over a full page of rows whose
+ * associations are all set, counts every SQL statement Hibernate sends for the request,
+ * and fails when a page goes over a fixed budget. A lazy association touched per row
+ * costs one statement per row and blows the budget at once; the failure lists the SQL.
+ */
+@SpringBootTest(properties = {
+        "spring.docker.compose.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:statement-budget;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.university.erp.integration.ListPageStatementBudgetTest$RecordingStatementInspector",
+        "app.security.bcrypt.strength=10",
+        "app.waitlist.promotion-enabled=false"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ListPageStatementBudgetTest {
+
+    // More rows than a page holds, so every page is full
+    private static final int ROWS = 30;
+
+    // The page query, plus one query per page for anything shown as a list (a teacher's courses)
+    private static final int MAX_STATEMENTS_PER_PAGE = 3;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TableVersions tableVersions;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @BeforeAll
+    void seed() {
+        List<Department> departments = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Department department = new Department();
+            department.setName("Department " + i);
+            departments.add(department);
+        }
+        departments = departmentRepository.saveAll(departments);
+
+        List<Teacher> teachers = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            Teacher teacher = new Teacher();
+            teacher.setName("Teacher " + i);
+            teacher.setEmployeeId(9000 + i);
+            teacher.setEmail("teacher" + i + "@budget.test");
+            teacher.setPassword("encoded");
+            teacher.setDepartment(departments.get(i % departments.size()));
+            teachers.add(teacher);
+        }
+        teachers = teacherRepository.saveAll(teachers);
+
+        // Two courses per teacher
+        List<Course> courses = new ArrayList<>();
+        for (int i = 0; i < 2 * ROWS; i++) {
+            Course course = new Course();
+            course.setName("Course " + i);
+            course.setCode("BUD" + i);
+            course.setCredit(3.0f);
+            course.setDepartment(departments.get(i % departments.size()));
+            course.setTeacher(teachers.get(i % teachers.size()));
+            courses.add(course);
+        }
+        courseRepository.saveAll(courses);
+
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            Student student = new Student();
+            student.setName("Student " + i);
+            student.setRoll(90000 + i);
+            student.setEmail("student" + i + "@budget.test");
+            student.setPassword("encoded");
+            students.add(student);
+        }
+        studentRepository.saveAll(students);
+    }
+
+    @BeforeEach
+    void setUp() {
+        // Measure the uncached path: nothing rendered before this test may be reused
+        for (Class<?> entityType : List.of(Course.class, Department.class, Teacher.class, Student.class)) {
+            tableVersions.onEntityChanged(new EntityChangedEvent(entityType));
+        }
+        RecordingStatementInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    @WithMockUser(roles = "TEACHER")
+    void testCoursesPage_DepartmentAndTeacherFetchedWithThePage() throws Exception {
+        mockMvc.perform(get("/courses"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(">Department 1</td>")))
+                .andExpect(content().string(containsString(">Teacher 1</td>")));
+
+        assertWithinBudget("/courses");
+    }
+
+    @Test
+    @WithMockUser(roles = "TEACHER")
+    void testCoursesPage_FilteredWithinBudget() throws Exception {
+        mockMvc.perform(get("/courses").param("q", "Course"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(">Teacher 1</td>")));
+
+        assertWithinBudget("/courses?q=Course");
+    }
+
+    @Test
+    @WithMockUser(roles = "TEACHER")
+    void testTeachersPage_CoursesInOneQueryForThePage() throws Exception {
+        mockMvc.perform(get("/teachers"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(">Department 1</td>")))
+                .andExpect(content().string(containsString("BUD1, ")));
+
+        assertWithinBudget("/teachers");
+    }
+
+    @Test
+    @WithMockUser(roles = "TEACHER")
+    void testDepartmentsPage() throws Exception {
+        mockMvc.perform(get("/departments"))
+                .andExpect(status().isOk());
+
+        assertWithinBudget("/departments");
+    }
+
+    @Test
+    @WithMockUser(roles = "TEACHER")
+    void testStudentsPage() throws Exception {
+        mockMvc.perform(get("/students"))
+                .andExpect(status().isOk());
+
+        assertWithinBudget("/students");
+    }
+
+    @Test
+    @WithMockUser(roles = "TEACHER")
+    void testStudentsPage_SortedWithinBudget() throws Exception {
+        mockMvc.perform(get("/students").param("sort", "name"))
+                .andExpect(status().isOk());
+
+        assertWithinBudget("/students?sort=name");
+    }
+
+    private void assertWithinBudget(String page) {
+        List<String> statements = List.copyOf(RecordingStatementInspector.STATEMENTS);
+        assertTrue(statements.size() <= MAX_STATEMENTS_PER_PAGE, () -> page + " issued " + statements.size()
+                + " statements, budget " + MAX_STATEMENTS_PER_PAGE + ":\n" + String.join("\n", statements));
+    }
+
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
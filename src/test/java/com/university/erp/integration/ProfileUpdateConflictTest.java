@@ -0,0 +1,100 @@
+package com.university.erp.integration;
+
+import com.university.erp.entity.Student;
+import com.university.erp.repository.StudentRepository;
+import com.university.erp.service.StudentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The profile form's version check, end to end: the controller, open-in-view and
+ * the real StudentService, so the entity the controller loads is the one the
+ * service updates.
+ */
+@SpringBootTest(properties = {
+        "spring.docker.compose.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:profile-conflict;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "app.security.bcrypt.strength=10",
+        "app.waitlist.promotion-enabled=false"
+})
+@AutoConfigureMockMvc
+class ProfileUpdateConflictTest {
+
+    private static final String EMAIL = "ada@profile.test";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    private Student student;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository.deleteAll();
+        Student created = new Student();
+        created.setName("Ada");
+        created.setRoll(1815);
+        created.setEmail(EMAIL);
+        created.setPassword("encoded");
+        created = studentService.createStudent(created);
+
+        // Someone else saves first: the row moves from version 0 to 1
+        Student renamed = new Student();
+        renamed.setName("Ada Lovelace");
+        renamed.setRoll(1815);
+        renamed.setEmail(EMAIL);
+        studentService.updateStudent(created.getId(), renamed);
+        student = studentRepository.findById(created.getId()).orElseThrow();
+    }
+
+    @Test
+    @WithMockUser(username = EMAIL, roles = "STUDENT")
+    void testUpdateProfile_StaleVersionIsRejected() throws Exception {
+        mockMvc.perform(post("/students/profile/update")
+                        .with(csrf())
+                        .param("name", "Ada King")
+                        .param("version", "0"))
+                .andExpect(status().isConflict());
+
+        Student stored = studentRepository.findById(student.getId()).orElseThrow();
+        assertEquals("Ada Lovelace", stored.getName());
+        assertEquals(student.getVersion(), stored.getVersion());
+    }
+
+    @Test
+    @WithMockUser(username = EMAIL, roles = "STUDENT")
+    void testUpdateProfile_CurrentVersionIsSaved() throws Exception {
+        mockMvc.perform(post("/students/profile/update")
+                        .with(csrf())
+                        .param("name", "Ada King")
+                        .param("version", String.valueOf(student.getVersion())))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/students/profile?success"));
+
+        Student stored = studentRepository.findById(student.getId()).orElseThrow();
+        assertEquals("Ada King", stored.getName());
+        assertEquals(1815, stored.getRoll());
+        assertEquals(EMAIL, stored.getEmail());
+    }
+}
@@ -0,0 +1,164 @@
+package com.university.erp.integration;
+
+import com.university.erp.config.SecurityConfig;
+import com.university.erp.controller.RegistrationController;
+import com.university.erp.dto.CourseSeatView;
+import com.university.erp.entity.Student;
+import com.university.erp.security.CustomUserDetailsService;
+import com.university.erp.service.EnrollmentException;
+import com.university.erp.service.EnrollmentException.Reason;
+import com.university.erp.service.RegistrationService;
+import com.university.erp.service.StudentService;
+import com.university.erp.service.WaitlistService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(RegistrationController.class)
+@Import(SecurityConfig.class)
+class RegistrationControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private RegistrationService registrationService;
+
+    @MockitoBean
+    private WaitlistService waitlistService;
+
+    @MockitoBean
+    private StudentService studentService;
+
+    @MockitoBean
+    private CustomUserDetailsService customUserDetailsService;
+
+    @BeforeEach
+    void setUp() {
+        Student student = new Student();
+        student.setId(1L);
+        student.setEmail("student@university.edu");
+        when(studentService.findByEmail("student@university.edu")).thenReturn(student);
+    }
+
+    @Test
+    @WithMockUser(username = "student@university.edu", roles = "STUDENT")
+    void testShowRegistration_AsStudent() throws Exception {
+        when(registrationService.getCourseSeats()).thenReturn(List.of(
+                new CourseSeatView(10L, "CSE101", "Introduction to Java", 3.0f, 30, 12, false),
+                new CourseSeatView(11L, "CSE201", "Data Structures", 3.0f, 30, 30, false)));
+        when(registrationService.getEnrolledCourseIds(1L)).thenReturn(Set.of());
+
+        mockMvc.perform(get("/registration"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("registration/list"))
+                .andExpect(content().string(containsString("18 of 30")))
+                .andExpect(content().string(containsString("Full")))
+                .andExpect(content().string(containsString("Join waitlist")));
+    }
+
+    @Test
+    @WithMockUser(username = "student@university.edu", roles = "STUDENT")
+    void testShowRegistration_ShowsWaitlistPosition() throws Exception {
+        // A seat is free, but it is held for the students already waiting
+        when(registrationService.getCourseSeats()).thenReturn(List.of(
+                new CourseSeatView(11L, "CSE201", "Data Structures", 3.0f, 30, 29, true)));
+        when(registrationService.getEnrolledCourseIds(1L)).thenReturn(Set.of());
+        when(waitlistService.getPositions(1L)).thenReturn(Map.of(11L, 7L));
+
+        mockMvc.perform(get("/registration"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("0 of 30")))
+                .andExpect(content().string(containsString("Waitlist position 7")))
+                .andExpect(content().string(containsString("Leave waitlist")));
+    }
+
+    @Test
+    @WithMockUser(roles = "TEACHER")
+    void testShowRegistration_AsTeacher_Forbidden() throws Exception {
+        mockMvc.perform(get("/registration"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(username = "student@university.edu", roles = "STUDENT")
+    void testEnroll_AsStudent() throws Exception {
+        mockMvc.perform(post("/registration/10/enroll")
+                        .with(csrf()))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/registration?enrolled"));
+
+        verify(registrationService, times(1)).enroll(1L, 10L);
+    }
+
+    @Test
+    @WithMockUser(username = "student@university.edu", roles = "STUDENT")
+    void testEnroll_CourseFull() throws Exception {
+        when(registrationService.enroll(1L, 11L)).thenThrow(new EnrollmentException(Reason.COURSE_FULL, 11L));
+
+        mockMvc.perform(post("/registration/11/enroll")
+                        .with(csrf()))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/registration?error=COURSE_FULL"));
+    }
+
+    @Test
+    @WithMockUser(username = "student@university.edu", roles = "STUDENT")
+    void testDrop_AsStudent() throws Exception {
+        mockMvc.perform(post("/registration/10/drop")
+                        .with(csrf()))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/registration?dropped"));
+
+        verify(registrationService, times(1)).drop(1L, 10L);
+    }
+
+    @Test
+    @WithMockUser(username = "student@university.edu", roles = "STUDENT")
+    void testJoinWaitlist_AsStudent() throws Exception {
+        mockMvc.perform(post("/registration/11/waitlist")
+                        .with(csrf()))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/registration?waitlisted"));
+
+        verify(waitlistService, times(1)).join(1L, 11L);
+    }
+
+    @Test
+    @WithMockUser(username = "student@university.edu", roles = "STUDENT")
+    void testJoinWaitlist_AlreadyWaitlisted() throws Exception {
+        when(waitlistService.join(1L, 11L)).thenThrow(new EnrollmentException(Reason.ALREADY_WAITLISTED, 11L));
+
+        mockMvc.perform(post("/registration/11/waitlist")
+                        .with(csrf()))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/registration?error=ALREADY_WAITLISTED"));
+    }
+
+    @Test
+    @WithMockUser(username = "student@university.edu", roles = "STUDENT")
+    void testLeaveWaitlist_AsStudent() throws Exception {
+        mockMvc.perform(post("/registration/11/waitlist/leave")
+                        .with(csrf()))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/registration?left"));
+
+        verify(waitlistService, times(1)).leave(1L, 11L);
+    }
+}
@@ -2,14 +2,22 @@ package com.university.erp.integration;
 
 import com.university.erp.config.SecurityConfig;
 import com.university.erp.controller.StudentController;
+import com.university.erp.dto.KeysetPage;
+import com.university.erp.dto.ListingPage;
+import com.university.erp.dto.StudentRow;
+import com.university.erp.dto.ListingRequest;
 import com.university.erp.entity.Student;
 import com.university.erp.security.CustomUserDetailsService;
+import com.university.erp.service.EntityChangedEvent;
 import com.university.erp.service.StudentService;
+import com.university.erp.web.ConditionalGet;
+import com.university.erp.web.TableVersions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpSession;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
@@ -18,6 +26,7 @@ import java.util.Arrays;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
@@ -26,12 +35,15 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(StudentController.class)
-@Import(SecurityConfig.class)
+@Import({SecurityConfig.class, ConditionalGet.class, TableVersions.class})
 class StudentIntegrationTest {
 
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private TableVersions tableVersions;
+
     @MockitoBean
     private StudentService studentService;
 
@@ -39,6 +51,7 @@ class StudentIntegrationTest {
     private CustomUserDetailsService customUserDetailsService;
 
     private Student testStudent;
+    private StudentRow testRow;
 
     @BeforeEach
     void setUp() {
@@ -49,6 +62,7 @@ class StudentIntegrationTest {
         testStudent.setEmail("test@university.edu");
         testStudent.setPassword("encryptedPassword123");
         testStudent.setRole("STUDENT");
+        testRow = new StudentRow(1L, "Test Student", 1001, "test@university.edu");
     }
 
     // ---- LIST ----
@@ -56,20 +70,51 @@ class StudentIntegrationTest {
     @Test
     @WithMockUser(roles = "TEACHER")
     void testListStudents_AsTeacher() throws Exception {
-        when(studentService.getAllStudents()).thenReturn(Arrays.asList(testStudent));
+        when(studentService.getStudentPage(isNull(), isNull(), isNull()))
+                .thenReturn(new KeysetPage<>(Arrays.asList(testRow), 20, null, null));
 
         mockMvc.perform(get("/students"))
                 .andExpect(status().isOk())
                 .andExpect(view().name("students/list"))
-                .andExpect(model().attributeExists("students"));
+                .andExpect(model().attributeExists("keyset", "students"));
+
+        verify(studentService, times(1)).getStudentPage(isNull(), isNull(), isNull());
+    }
+
+    @Test
+    @WithMockUser(roles = "TEACHER")
+    void testListStudents_WithCursorAndSize() throws Exception {
+        when(studentService.getStudentPage(eq(20L), isNull(), eq(5)))
+                .thenReturn(new KeysetPage<>(Arrays.asList(testRow), 5, 1L, 1L));
+
+        mockMvc.perform(get("/students").param("after", "20").param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("students/list"));
 
-        verify(studentService, times(1)).getAllStudents();
+        verify(studentService, times(1)).getStudentPage(eq(20L), isNull(), eq(5));
+    }
+
+    @Test
+    @WithMockUser(roles = "TEACHER")
+    void testListStudents_SortedUsesListing() throws Exception {
+        ListingRequest resolved = new ListingRequest(0, 20, "name", "desc", null);
+        when(studentService.list(any(ListingRequest.class)))
+                .thenReturn(new ListingPage<>(Arrays.asList(testRow), resolved, false, false));
+
+        mockMvc.perform(get("/students").param("sort", "name").param("dir", "desc"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("students/list"))
+                .andExpect(model().attribute("listing", resolved));
+
+        verify(studentService, times(1)).list(any(ListingRequest.class));
+        verify(studentService, never()).getStudentPage(any(), any(), any());
     }
 
     @Test
     @WithMockUser(roles = "STUDENT")
     void testListStudents_AsStudent() throws Exception {
-        when(studentService.getAllStudents()).thenReturn(Arrays.asList(testStudent));
+        when(studentService.getStudentPage(isNull(), isNull(), isNull()))
+                .thenReturn(new KeysetPage<>(Arrays.asList(testRow), 20, null, null));
 
         mockMvc.perform(get("/students"))
                 .andExpect(status().isOk())
@@ -222,6 +267,59 @@ class StudentIntegrationTest {
         verify(studentService, times(1)).findByEmail("test@university.edu");
     }
 
+    @Test
+    @WithMockUser(username = "test@university.edu", roles = "STUDENT")
+    void testShowProfile_NotModified() throws Exception {
+        testStudent.setVersion(3L);
+        when(studentService.findByEmail("test@university.edu")).thenReturn(testStudent);
+        MockHttpSession session = new MockHttpSession();
+
+        String etag = mockMvc.perform(get("/students/profile").session(session))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "private, no-cache"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // Another student's write leaves this one's row, and so the page, as it was
+        tableVersions.onEntityChanged(new EntityChangedEvent(Student.class));
+
+        mockMvc.perform(get("/students/profile").session(session).header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @WithMockUser(username = "test@university.edu", roles = "STUDENT")
+    void testShowProfile_NotModifiedWithoutQuerying() throws Exception {
+        when(studentService.findByEmail("test@university.edu")).thenReturn(testStudent);
+        MockHttpSession session = new MockHttpSession();
+
+        String etag = mockMvc.perform(get("/students/profile").session(session))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        // No student was written since, so the row kept in the session still holds
+        mockMvc.perform(get("/students/profile").session(session).header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        verify(studentService, times(1)).findByEmail("test@university.edu");
+    }
+
+    @Test
+    @WithMockUser(username = "test@university.edu", roles = "STUDENT")
+    void testShowProfile_OwnUpdateRendersAgain() throws Exception {
+        testStudent.setVersion(3L);
+        when(studentService.findByEmail("test@university.edu")).thenReturn(testStudent);
+        MockHttpSession session = new MockHttpSession();
+
+        String etag = mockMvc.perform(get("/students/profile").session(session))
+                .andReturn().getResponse().getHeader("ETag");
+        testStudent.setVersion(4L);
+        tableVersions.onEntityChanged(new EntityChangedEvent(Student.class));
+
+        mockMvc.perform(get("/students/profile").session(session).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(view().name("students/profile"));
+    }
+
     @Test
     @WithMockUser(username = "test@university.edu", roles = "STUDENT")
     void testUpdateProfile_AsStudent() throws Exception {
@@ -2,9 +2,16 @@ package com.university.erp.integration;
 
 import com.university.erp.config.SecurityConfig;
 import com.university.erp.controller.TeacherController;
+import com.university.erp.dto.ListingPage;
+import com.university.erp.dto.ListingRequest;
+import com.university.erp.dto.TeacherRow;
 import com.university.erp.entity.Teacher;
 import com.university.erp.security.CustomUserDetailsService;
+import com.university.erp.service.CourseService;
+import com.university.erp.service.DepartmentService;
 import com.university.erp.service.TeacherService;
+import com.university.erp.web.ConditionalGet;
+import com.university.erp.web.TableVersions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,8 +22,11 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -26,7 +36,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(TeacherController.class)
-@Import(SecurityConfig.class)
+@Import({SecurityConfig.class, ConditionalGet.class, TableVersions.class})
 class TeacherControllerIntegrationTest {
 
     @Autowired
@@ -35,10 +45,17 @@ class TeacherControllerIntegrationTest {
     @MockitoBean
     private TeacherService teacherService;
 
+    @MockitoBean
+    private CourseService courseService;
+
+    @MockitoBean
+    private DepartmentService departmentService;
+
     @MockitoBean
     private CustomUserDetailsService customUserDetailsService;
 
     private Teacher testTeacher;
+    private TeacherRow testRow;
 
     @BeforeEach
     void setUp() {
@@ -49,6 +66,7 @@ class TeacherControllerIntegrationTest {
         testTeacher.setEmail("smith@university.edu");
         testTeacher.setPassword("encryptedPassword123");
         testTeacher.setRole("TEACHER");
+        testRow = new TeacherRow(1L, "Dr. Smith", 5001, "smith@university.edu", "Computer Science");
     }
 
     // ---- LIST ----
@@ -56,26 +74,44 @@ class TeacherControllerIntegrationTest {
     @Test
     @WithMockUser(roles = "TEACHER")
     void testListTeachers_AsTeacher() throws Exception {
-        when(teacherService.getAllTeachers()).thenReturn(Arrays.asList(testTeacher));
+        when(teacherService.list(any(ListingRequest.class)))
+                .thenReturn(new ListingPage<>(Arrays.asList(testRow), new ListingRequest(0, 20, "id", "asc", null), false, false));
 
         mockMvc.perform(get("/teachers"))
                 .andExpect(status().isOk())
                 .andExpect(view().name("teachers/list"))
                 .andExpect(model().attributeExists("teachers"));
 
-        verify(teacherService, times(1)).getAllTeachers();
+        verify(teacherService, times(1)).list(any(ListingRequest.class));
     }
 
     @Test
     @WithMockUser(roles = "STUDENT")
     void testListTeachers_AsStudent() throws Exception {
-        when(teacherService.getAllTeachers()).thenReturn(Arrays.asList(testTeacher));
+        when(teacherService.list(any(ListingRequest.class)))
+                .thenReturn(new ListingPage<>(Arrays.asList(testRow), new ListingRequest(0, 20, "id", "asc", null), false, false));
 
         mockMvc.perform(get("/teachers"))
                 .andExpect(status().isOk())
                 .andExpect(view().name("teachers/list"));
     }
 
+    @Test
+    @WithMockUser(roles = "STUDENT")
+    void testListTeachers_ShowsDepartmentAndCoursesFromOneLookup() throws Exception {
+        when(teacherService.list(any(ListingRequest.class)))
+                .thenReturn(new ListingPage<>(List.of(testRow), new ListingRequest(0, 20, "id", "asc", null), false, false));
+        when(courseService.getCourseCodesByTeacher(List.of(1L))).thenReturn(Map.of(1L, List.of("CSE101", "CSE305")));
+
+        mockMvc.perform(get("/teachers"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(">Computer Science</td>")))
+                .andExpect(content().string(containsString("CSE101, ")))
+                .andExpect(content().string(containsString("CSE305")));
+
+        verify(courseService, times(1)).getCourseCodesByTeacher(List.of(1L));
+    }
+
     @Test
     void testListTeachers_Unauthenticated() throws Exception {
         mockMvc.perform(get("/teachers"))
@@ -90,7 +126,7 @@ class TeacherControllerIntegrationTest {
         mockMvc.perform(get("/teachers/new"))
                 .andExpect(status().isOk())
                 .andExpect(view().name("teachers/form"))
-                .andExpect(model().attributeExists("teacher"));
+                .andExpect(model().attributeExists("teacher", "departments"));
     }
 
     @Test
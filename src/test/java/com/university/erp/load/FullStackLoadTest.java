@@ -0,0 +1,176 @@
+package com.university.erp.load;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Drives the whole stack over HTTP: form login, the student and teacher list pages,
+ * and create/update/delete of a student and a teacher, with concurrent virtual
+ * users. Prints p50/p95/p99 per operation and fails when the budgets are exceeded.
+ * <p>
+ * Excluded from the normal build; run with {@code ./mvnw -P load-test verify}.
+ * Settings are system properties (defaults in brackets): {@code load.users} [20],
+ * {@code load.iterations} per user [20], {@code load.warmup-iterations} [2],
+ * {@code load.budget.p95-ms} [500], {@code load.budget.p99-ms} [1500],
+ * {@code load.budget.error-rate} [0.0]. Set {@code load.db.url},
+ * {@code load.db.username} and {@code load.db.password} to run against a local
+ * PostgreSQL instead of in-memory H2.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.docker.compose.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "app.security.bcrypt.strength=10",
+        "logging.level.root=WARN"
+})
+class FullStackLoadTest {
+
+    private static final Pattern STUDENT_ID = Pattern.compile("/students/edit/(\\d+)");
+    private static final Pattern TEACHER_ID = Pattern.compile("/teachers/edit/(\\d+)");
+
+    private static final int USERS = Integer.getInteger("load.users", 20);
+    private static final int ITERATIONS = Integer.getInteger("load.iterations", 20);
+    private static final int WARMUP_ITERATIONS = Integer.getInteger("load.warmup-iterations", 2);
+    private static final long P95_BUDGET_MS = Long.getLong("load.budget.p95-ms", 500);
+    private static final long P99_BUDGET_MS = Long.getLong("load.budget.p99-ms", 1500);
+    private static final double ERROR_RATE_BUDGET = Double.parseDouble(System.getProperty("load.budget.error-rate", "0"));
+
+    // Unique rolls, employee ids and emails across all users and iterations
+    private final AtomicInteger sequence = new AtomicInteger(100_000);
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        String url = System.getProperty("load.db.url");
+        if (url != null && !url.isBlank()) {
+            registry.add("spring.datasource.url", () -> url);
+            registry.add("spring.datasource.username", () -> System.getProperty("load.db.username", "erp_user"));
+            registry.add("spring.datasource.password", () -> System.getProperty("load.db.password", ""));
+        } else {
+            registry.add("spring.datasource.url", () -> "jdbc:h2:mem:load;DB_CLOSE_DELAY=-1");
+            registry.add("spring.datasource.driver-class-name", () -> "org.h2.Driver");
+            registry.add("spring.datasource.username", () -> "sa");
+            registry.add("spring.datasource.password", () -> "");
+            registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.H2Dialect");
+        }
+    }
+
+    @Test
+    void fullStackLatencyWithinBudget() throws Exception {
+        String baseUrl = "http://localhost:" + port;
+
+        // Warm-up results are discarded
+        runUsers(baseUrl, new LatencyRecorder(), WARMUP_ITERATIONS);
+
+        LatencyRecorder recorder = new LatencyRecorder();
+        long start = System.nanoTime();
+        long failedIterations = runUsers(baseUrl, recorder, ITERATIONS);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        Map<String, LatencyRecorder.Summary> summaries = recorder.summarize();
+        LatencyRecorder.Summary all = summaries.get(LatencyRecorder.ALL);
+        String report = LatencyRecorder.format(summaries) + String.format(
+                "%d users x %d iterations in %.1f s, %.0f requests/s, %d failed iterations%n",
+                USERS, ITERATIONS, seconds, all.count() / seconds, failedIterations);
+        System.out.println(report);
+        Files.writeString(Path.of("target", "load-test-report.txt"), report);
+
+        assertTrue(all.errorRate() <= ERROR_RATE_BUDGET, "error rate " + all.errorRate() + " over budget\n" + report);
+        assertTrue(all.p95() <= P95_BUDGET_MS, "p95 " + all.p95() + " ms over budget of " + P95_BUDGET_MS + " ms\n" + report);
+        assertTrue(all.p99() <= P99_BUDGET_MS, "p99 " + all.p99() + " ms over budget of " + P99_BUDGET_MS + " ms\n" + report);
+    }
+
+    /**
+     * Runs every user on its own thread and returns the number of iterations that threw.
+     */
+    private long runUsers(String baseUrl, LatencyRecorder recorder, int iterations) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(USERS);
+        try {
+            List<Future<Integer>> users = new ArrayList<>();
+            for (int i = 0; i < USERS; i++) {
+                users.add(executor.submit(() -> runUser(baseUrl, recorder, iterations)));
+            }
+            long failed = 0;
+            for (Future<Integer> user : users) {
+                failed += user.get();
+            }
+            return failed;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private int runUser(String baseUrl, LatencyRecorder recorder, int iterations) throws Exception {
+        VirtualUser user = new VirtualUser(baseUrl, recorder);
+        user.login("teacher@university.edu", "password123");
+
+        int failed = 0;
+        for (int i = 0; i < iterations; i++) {
+            try {
+                user.get("students.list", "/students");
+                user.get("teachers.list", "/teachers");
+                studentLifecycle(user);
+                teacherLifecycle(user);
+            } catch (IOException | IllegalStateException ex) {
+                failed++;
+            }
+        }
+        return failed;
+    }
+
+    private void studentLifecycle(VirtualUser user) throws Exception {
+        int n = sequence.incrementAndGet();
+        String name = "Load Student " + n;
+        user.submitForm("students.create", "/students/new", "/students", Map.of(
+                "name", name, "roll", String.valueOf(n), "email", "load" + n + "@student.edu", "password", "password123"));
+
+        String id = findId(user.get("students.search", "/students?q=" + name.replace(' ', '+')), STUDENT_ID);
+        user.submitForm("students.update", "/students/edit/" + id, "/students/update", Map.of(
+                "id", id, "name", name + " Updated", "roll", String.valueOf(n), "email", "load" + n + "@student.edu",
+                "password", "password123"));
+        user.get("students.delete", "/students/delete/" + id);
+    }
+
+    private void teacherLifecycle(VirtualUser user) throws Exception {
+        int n = sequence.incrementAndGet();
+        String name = "Load Teacher " + n;
+        user.submitForm("teachers.create", "/teachers/new", "/teachers", Map.of(
+                "name", name, "employeeId", String.valueOf(n), "email", "load" + n + "@teacher.edu", "password", "password123"));
+
+        String id = findId(user.get("teachers.search", "/teachers?q=" + name.replace(' ', '+')), TEACHER_ID);
+        user.submitForm("teachers.update", "/teachers/edit/" + id, "/teachers/update", Map.of(
+                "id", id, "name", name + " Updated", "employeeId", String.valueOf(n), "email", "load" + n + "@teacher.edu",
+                "password", "password123"));
+        user.get("teachers.delete", "/teachers/delete/" + id);
+    }
+
+    private static String findId(HttpResponse<String> page, Pattern link) {
+        Matcher matcher = link.matcher(page.body());
+        if (!matcher.find()) {
+            throw new IllegalStateException("Created row not found on " + page.uri());
+        }
+        return matcher.group(1);
+    }
+}
@@ -0,0 +1,80 @@
+package com.university.erp.load;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects per-operation latencies and errors from all virtual users and turns
+ * them into percentiles. Every sample is kept, which is fine for the few hundred
+ * thousand requests a run makes.
+ */
+class LatencyRecorder {
+
+    record Summary(String operation, int count, long errors, long p50, long p95, long p99, long max) {
+
+        double errorRate() {
+            return count == 0 ? 0 : (double) errors / count;
+        }
+    }
+
+    static final String ALL = "ALL";
+
+    private final Map<String, ConcurrentLinkedQueue<Long>> samples = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    void record(String operation, long elapsedNanos, boolean success) {
+        samples.computeIfAbsent(operation, key -> new ConcurrentLinkedQueue<>()).add(elapsedNanos);
+        if (!success) {
+            errors.computeIfAbsent(operation, key -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * One summary per operation plus {@link #ALL}, latencies in milliseconds.
+     */
+    Map<String, Summary> summarize() {
+        Map<String, Summary> summaries = new TreeMap<>();
+        List<Long> all = new ArrayList<>();
+        long allErrors = 0;
+        for (Map.Entry<String, ConcurrentLinkedQueue<Long>> entry : samples.entrySet()) {
+            List<Long> values = new ArrayList<>(entry.getValue());
+            long operationErrors = errors.getOrDefault(entry.getKey(), new LongAdder()).sum();
+            summaries.put(entry.getKey(), summarize(entry.getKey(), values, operationErrors));
+            all.addAll(values);
+            allErrors += operationErrors;
+        }
+        summaries.put(ALL, summarize(ALL, all, allErrors));
+        return summaries;
+    }
+
+    static String format(Map<String, Summary> summaries) {
+        StringBuilder report = new StringBuilder(String.format(Locale.ROOT, "%-18s %8s %7s %8s %8s %8s %8s%n",
+                "operation", "count", "errors", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        summaries.values().forEach(summary -> report.append(String.format(Locale.ROOT,
+                "%-18s %8d %7d %8d %8d %8d %8d%n", summary.operation(), summary.count(), summary.errors(),
+                summary.p50(), summary.p95(), summary.p99(), summary.max())));
+        return report.toString();
+    }
+
+    private static Summary summarize(String operation, List<Long> nanos, long errors) {
+        Collections.sort(nanos);
+        return new Summary(operation, nanos.size(), errors,
+                percentile(nanos, 50), percentile(nanos, 95), percentile(nanos, 99), percentile(nanos, 100));
+    }
+
+    // Nearest-rank percentile
+    static long percentile(List<Long> sortedNanos, int percentile) {
+        if (sortedNanos.isEmpty()) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sortedNanos.size());
+        return sortedNanos.get(Math.max(rank, 1) - 1) / 1_000_000;
+    }
+}
@@ -0,0 +1,105 @@
+package com.university.erp.load;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * One browser-like client: its own cookie jar (session), CSRF tokens scraped from
+ * the pages it loads, and redirects left unfollowed so each request is timed on
+ * its own.
+ */
+class VirtualUser {
+
+    private static final Pattern CSRF = Pattern.compile("name=\"_csrf\"\\s+value=\"([^\"]+)\"");
+
+    private final String baseUrl;
+    private final LatencyRecorder recorder;
+    private final HttpClient client;
+
+    VirtualUser(String baseUrl, LatencyRecorder recorder) {
+        this.baseUrl = baseUrl;
+        this.recorder = recorder;
+        this.client = HttpClient.newBuilder()
+                .cookieHandler(new CookieManager())
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    /**
+     * Logs in through the form and fails the run if the credentials are rejected.
+     */
+    void login(String username, String password) throws IOException, InterruptedException {
+        String token = csrfToken(get("login.page", "/login"));
+        HttpResponse<String> response = post("login", "/login", Map.of(
+                "username", username, "password", password, "_csrf", token));
+        String location = response.headers().firstValue("Location").orElse("");
+        if (response.statusCode() != 302 || location.contains("error")) {
+            throw new IllegalStateException("Login failed for " + username + ": " + response.statusCode() + " " + location);
+        }
+    }
+
+    HttpResponse<String> get(String operation, String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+        return send(operation, request);
+    }
+
+    HttpResponse<String> post(String operation, String path, Map<String, String> form)
+            throws IOException, InterruptedException {
+        String body = form.entrySet().stream()
+                .map(field -> encode(field.getKey()) + "=" + encode(field.getValue()))
+                .collect(Collectors.joining("&"));
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return send(operation, request);
+    }
+
+    /**
+     * Loads a form page and submits it with the page's CSRF token added to {@code fields}.
+     */
+    HttpResponse<String> submitForm(String operation, String formPath, String actionPath, Map<String, String> fields)
+            throws IOException, InterruptedException {
+        Map<String, String> form = new LinkedHashMap<>(fields);
+        form.put("_csrf", csrfToken(get(operation + ".form", formPath)));
+        return post(operation, actionPath, form);
+    }
+
+    static String csrfToken(HttpResponse<String> page) {
+        Matcher matcher = CSRF.matcher(page.body());
+        if (!matcher.find()) {
+            throw new IllegalStateException("No CSRF token on " + page.uri());
+        }
+        return matcher.group(1);
+    }
+
+    private HttpResponse<String> send(String operation, HttpRequest request) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            // Redirects are the normal answer to form posts; anything 4xx/5xx is an error
+            success = response.statusCode() < 400;
+            return response;
+        } finally {
+            recorder.record(operation, System.nanoTime() - start, success);
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
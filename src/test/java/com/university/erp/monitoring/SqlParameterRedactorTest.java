@@ -0,0 +1,60 @@
+package com.university.erp.monitoring;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlParameterRedactorTest {
+
+    private final SqlParameterRedactor redactor = new SqlParameterRedactor(Set.of("password"));
+
+    @Test
+    void testInsertColumnList() {
+        // Act & Assert: third value binds the password column
+        assertEquals("{3}", redactor.redactedIndexes(
+                "insert into students (email,name,password,role,roll,id) values (?,?,?,?,?,?)").toString());
+    }
+
+    @Test
+    void testSetAndWhereClauses() {
+        // Act & Assert
+        assertEquals("{3}", redactor.redactedIndexes(
+                "update students set email=?,name=?,password=?,roll=? where id=?").toString());
+        assertEquals("{1}", redactor.redactedIndexes(
+                "update students s set s.password = ? where s.email = ?").toString());
+    }
+
+    @Test
+    void testQuestionMarksInLiteralsAreNotParameters() {
+        // Act & Assert: the literal '?x' must not shift the numbering
+        assertEquals("{2}", redactor.redactedIndexes(
+                "select s1_0.id from students s1_0 where s1_0.name like '?x' and s1_0.email=? and s1_0.password=?")
+                .toString());
+        assertFalse(redactor.isRedacted("select * from students where name like '?x' and email=?", 1, "a@b.c"));
+    }
+
+    @Test
+    void testBcryptValuesAreAlwaysRedacted() {
+        // Act & Assert
+        assertTrue(redactor.isRedacted("select ? from dual", 1,
+                "$2a$10$abcdefghijklmnopqrstuuOVqQ8dE7ZPnU3hS5vBvtY0ON8RbX1aK"));
+    }
+
+    @Test
+    void testLogLineHidesPassword() {
+        // Arrange
+        SlowQueryLogger logger = new SlowQueryLogger(Duration.ofMillis(200), 0, redactor);
+        Map<Integer, Object> parameters = new TreeMap<>(Map.of(1, "a@b.c", 2, "plain-secret", 3, 7));
+
+        // Act
+        String line = logger.format("update students set email=?, password=? where id=?", parameters, 0, 5_300_000);
+
+        // Assert
+        assertEquals("(5 ms): update students set email=?, password=? where id=? [1='a@b.c', 2=<redacted>, 3=7]", line);
+    }
+}
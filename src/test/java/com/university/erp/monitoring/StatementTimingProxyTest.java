@@ -0,0 +1,99 @@
+package com.university.erp.monitoring;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StatementTimingProxyTest {
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement statement;
+
+    @Mock
+    private SlowQueryLogger slowQueryLogger;
+
+    @Test
+    void testPreparedStatementIsTimedWithParameters() throws SQLException {
+        // Arrange
+        String sql = "update students set password=? where email=?";
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(sql)).thenReturn(statement);
+        when(statement.executeUpdate()).thenReturn(1);
+        AtomicReference<Map<Integer, Object>> recorded = new AtomicReference<>();
+        doAnswer(invocation -> {
+            Supplier<Map<Integer, Object>> parameters = invocation.getArgument(1);
+            recorded.set(Map.copyOf(parameters.get()));
+            return null;
+        }).when(slowQueryLogger).record(eq(sql), any(), eq(0), anyLong());
+
+        DataSource timed = StatementTimingProxy.wrap(dataSource, () -> slowQueryLogger);
+
+        // Act
+        try (Connection timedConnection = timed.getConnection();
+             PreparedStatement timedStatement = timedConnection.prepareStatement(sql)) {
+            timedStatement.setString(1, "secret");
+            timedStatement.setString(2, "a@b.c");
+            assertEquals(1, timedStatement.executeUpdate());
+        }
+
+        // Assert
+        assertEquals(Map.of(1, "secret", 2, "a@b.c"), recorded.get());
+        verify(statement).close();
+        verify(connection).close();
+    }
+
+    @Test
+    void testBatchSizeIsReported() throws SQLException {
+        // Arrange
+        String sql = "insert into students (name,id) values (?,?)";
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(sql)).thenReturn(statement);
+        when(statement.executeBatch()).thenReturn(new int[]{1, 1});
+        DataSource timed = StatementTimingProxy.wrap(dataSource, () -> slowQueryLogger);
+
+        // Act
+        PreparedStatement timedStatement = timed.getConnection().prepareStatement(sql);
+        timedStatement.addBatch();
+        timedStatement.addBatch();
+        timedStatement.executeBatch();
+
+        // Assert
+        verify(slowQueryLogger).record(eq(sql), any(), eq(2), anyLong());
+    }
+
+    @Test
+    void testUnwrapReachesTheDriver() throws SQLException {
+        // Arrange
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.isWrapperFor(Runnable.class)).thenReturn(true);
+        DataSource timed = StatementTimingProxy.wrap(dataSource, () -> slowQueryLogger);
+
+        // Act
+        Connection timedConnection = timed.getConnection();
+
+        // Assert: interfaces the proxy implements answer directly, anything else is delegated
+        assertSame(timedConnection, timedConnection.unwrap(Connection.class));
+        assertTrue(timedConnection.isWrapperFor(Runnable.class));
+        verify(connection, never()).unwrap(Connection.class);
+    }
+}
@@ -1,11 +1,25 @@
 package com.university.erp.repository;
 
+import com.university.erp.dto.CourseRow;
+import com.university.erp.dto.TaughtCourse;
 import com.university.erp.entity.Course;
+import com.university.erp.entity.Department;
+import com.university.erp.entity.Teacher;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
 import java.util.Optional;
@@ -19,6 +33,21 @@ class CourseRepositoryTest {
     @Autowired
     private CourseRepository courseRepository;
 
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     private Course testCourse;
 
     @BeforeEach
@@ -98,4 +127,245 @@ class CourseRepositoryTest {
         assertEquals("CSE301", updated.getCode());
         assertEquals(4.0f, updated.getCredit());
     }
+
+    @Test
+    void testFindRowsBy_ReturnsSlice() {
+        courseRepository.save(testCourse);
+        courseRepository.save(newCourse("Data Structures", "CSE201"));
+        courseRepository.save(newCourse("Databases", "CSE301"));
+
+        Slice<CourseRow> first = courseRepository.findRowsBy(PageRequest.of(0, 2, Sort.by("name")));
+        Slice<CourseRow> second = courseRepository.findRowsBy(PageRequest.of(1, 2, Sort.by("name")));
+
+        assertEquals(2, first.getNumberOfElements());
+        assertTrue(first.hasNext());
+        assertEquals("Data Structures", first.getContent().get(0).name());
+        assertEquals(1, second.getNumberOfElements());
+        assertFalse(second.hasNext());
+    }
+
+    @Test
+    void testFindRowsByNameLike() {
+        courseRepository.save(testCourse);
+        courseRepository.save(newCourse("Data Structures", "CSE201"));
+
+        Slice<CourseRow> found = courseRepository.findRowsByNameLike("DATA%", PageRequest.of(0, 10));
+
+        assertEquals(1, found.getNumberOfElements());
+        assertEquals("CSE201", found.getContent().get(0).code());
+    }
+
+    @Test
+    void testFindRowsBy_JoinsDepartmentAndTeacherInOneStatement() {
+        Department department = departmentRepository.save(newDepartment("Computer Science"));
+        Teacher teacher = teacherRepository.save(newTeacher("Dr. Rahman", 5001));
+        testCourse.setDepartment(department);
+        testCourse.setTeacher(teacher);
+        courseRepository.save(testCourse);
+        courseRepository.save(newCourse("Data Structures", "CSE201"));
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = statistics();
+
+        Slice<CourseRow> page = courseRepository.findRowsBy(PageRequest.of(0, 10, Sort.by("code")));
+
+        CourseRow row = page.getContent().get(0);
+        assertEquals("Computer Science", row.departmentName());
+        assertEquals("Dr. Rahman", row.teacherName());
+        assertNull(page.getContent().get(1).teacherName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        // Plain values: no course, department or teacher was loaded into the session
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void testFindTaughtCourses() {
+        Teacher teacher = teacherRepository.save(newTeacher("Dr. Rahman", 5001));
+        Teacher other = teacherRepository.save(newTeacher("Dr. Smith", 5002));
+        testCourse.setTeacher(teacher);
+        courseRepository.save(testCourse);
+        Course databases = newCourse("Databases", "CSE301");
+        databases.setTeacher(other);
+        courseRepository.save(databases);
+        courseRepository.save(newCourse("Data Structures", "CSE201"));
+
+        List<TaughtCourse> taught = courseRepository.findTaughtCourses(List.of(teacher.getId(), other.getId()));
+
+        assertEquals(List.of(new TaughtCourse(teacher.getId(), "CSE101"), new TaughtCourse(other.getId(), "CSE301")),
+                taught);
+    }
+
+    @Test
+    void testUnassignTeachers_KeepsCoursesAndBumpsVersion() {
+        Teacher teacher = teacherRepository.save(newTeacher("Dr. Rahman", 5001));
+        testCourse.setTeacher(teacher);
+        Course saved = courseRepository.save(testCourse);
+        entityManager.flush();
+
+        int unassigned = courseRepository.unassignTeachers(List.of(teacher.getId()));
+        entityManager.clear();
+
+        assertEquals(1, unassigned);
+        Course found = courseRepository.findById(saved.getId()).orElseThrow();
+        assertNull(found.getTeacher());
+        assertEquals(1L, found.getVersion());
+    }
+
+    @Test
+    void testUpdateCreditByIdIn_BumpsVersion() {
+        Course first = courseRepository.save(testCourse);
+        Course second = courseRepository.save(newCourse("Data Structures", "CSE201"));
+        Course untouched = courseRepository.save(newCourse("Databases", "CSE301"));
+
+        int updated = courseRepository.updateCreditByIdIn(List.of(first.getId(), second.getId()), 4.0f);
+
+        assertEquals(2, updated);
+        assertEquals(4.0f, courseRepository.findById(first.getId()).orElseThrow().getCredit());
+        assertEquals(1L, courseRepository.findById(second.getId()).orElseThrow().getVersion());
+        assertEquals(3.0f, courseRepository.findById(untouched.getId()).orElseThrow().getCredit());
+        assertEquals(0L, courseRepository.findById(untouched.getId()).orElseThrow().getVersion());
+    }
+
+    @Test
+    void testDeleteByIdIn() {
+        Course first = courseRepository.save(testCourse);
+        Course kept = courseRepository.save(newCourse("Data Structures", "CSE201"));
+
+        int deleted = courseRepository.deleteByIdIn(List.of(first.getId(), 999L));
+
+        assertEquals(1, deleted);
+        assertFalse(courseRepository.findById(first.getId()).isPresent());
+        assertTrue(courseRepository.findById(kept.getId()).isPresent());
+    }
+
+    @Test
+    void testDeleteByNameLike_MatchesWildcardsLiterally() {
+        courseRepository.save(newCourse("CS_1 Lab", "LAB1"));
+        courseRepository.save(newCourse("CSX1 Lab", "LAB2"));
+
+        int deleted = courseRepository.deleteByNameLike("CS!_%");
+
+        assertEquals(1, deleted);
+        assertEquals(List.of("LAB2"), courseRepository.findAll().stream().map(Course::getCode).toList());
+    }
+
+    // Second-level cache entries are written on commit, so these tests run without the rollback transaction
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void testFindById_ServedFromSecondLevelCache() {
+        Course saved = courseRepository.save(testCourse);
+        Statistics statistics = statistics();
+
+        try {
+            courseRepository.findById(saved.getId());
+            Optional<Course> found = courseRepository.findById(saved.getId());
+
+            assertTrue(found.isPresent());
+            assertEquals("CSE101", found.get().getCode());
+            assertEquals(2, statistics.getSecondLevelCacheHitCount());
+            assertEquals(0, statistics.getSecondLevelCacheMissCount());
+        } finally {
+            courseRepository.deleteAll();
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void testFindAll_QueryCacheInvalidatedOnWrite() {
+        courseRepository.save(testCourse);
+        courseRepository.save(newCourse("Data Structures", "CSE201"));
+        Statistics statistics = statistics();
+
+        try {
+            courseRepository.findAll();
+            List<Course> cached = courseRepository.findAll();
+
+            assertEquals(1, statistics.getQueryCacheHitCount());
+            assertEquals(2, cached.size());
+
+            courseRepository.save(newCourse("Databases", "CSE301"));
+            List<Course> afterWrite = courseRepository.findAll();
+
+            assertEquals(1, statistics.getQueryCacheHitCount());
+            assertEquals(3, afterWrite.size());
+        } finally {
+            courseRepository.deleteAll();
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void testFindRowsBy_QueryCacheInvalidatedByTeacherWrite() {
+        Teacher teacher = teacherRepository.save(newTeacher("Dr. Rahman", 5001));
+        testCourse.setTeacher(teacher);
+        courseRepository.save(testCourse);
+        Statistics statistics = statistics();
+
+        try {
+            courseRepository.findRowsBy(PageRequest.of(0, 10, Sort.by("code")));
+            Slice<CourseRow> cached = courseRepository.findRowsBy(PageRequest.of(0, 10, Sort.by("code")));
+
+            assertEquals(1, statistics.getQueryCacheHitCount());
+            assertEquals("Dr. Rahman", cached.getContent().get(0).teacherName());
+
+            // The row shows the teacher's name, so a teacher write must drop it too
+            teacher.setName("Dr. Rahman Khan");
+            teacherRepository.save(teacher);
+            Slice<CourseRow> afterWrite = courseRepository.findRowsBy(PageRequest.of(0, 10, Sort.by("code")));
+
+            assertEquals(1, statistics.getQueryCacheHitCount());
+            assertEquals("Dr. Rahman Khan", afterWrite.getContent().get(0).teacherName());
+        } finally {
+            courseRepository.deleteAll();
+            teacherRepository.deleteAll();
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void testUpdateCreditByIdIn_EvictsSecondLevelCache() {
+        Course saved = courseRepository.save(testCourse);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        try {
+            courseRepository.findById(saved.getId());
+            transaction.executeWithoutResult(status -> courseRepository.updateCreditByIdIn(List.of(saved.getId()), 4.0f));
+            Optional<Course> found = courseRepository.findById(saved.getId());
+
+            assertTrue(found.isPresent());
+            assertEquals(4.0f, found.get().getCredit());
+        } finally {
+            courseRepository.deleteAll();
+        }
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    private Course newCourse(String name, String code) {
+        Course course = new Course();
+        course.setName(name);
+        course.setCode(code);
+        course.setCredit(3.0f);
+        return course;
+    }
+
+    private Department newDepartment(String name) {
+        Department department = new Department();
+        department.setName(name);
+        return department;
+    }
+
+    private Teacher newTeacher(String name, int employeeId) {
+        Teacher teacher = new Teacher();
+        teacher.setName(name);
+        teacher.setEmployeeId(employeeId);
+        teacher.setEmail("t" + employeeId + "@university.edu");
+        teacher.setPassword("encoded");
+        return teacher;
+    }
 }
@@ -1,24 +1,42 @@
 package com.university.erp.repository;
 
+import com.university.erp.dto.StudentRow;
 import com.university.erp.entity.Student;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@DataJpaTest // Loads only JPA context with H2 in-memory database
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hibernate.order_inserts=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+}) // Loads only JPA context with H2 in-memory database
 @Transactional // Rolls back database changes after each test
 class StudentRepositoryTest {
 
     @Autowired
     private StudentRepository studentRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
     private Student testStudent;
 
     @BeforeEach
@@ -139,4 +157,129 @@ class StudentRepositoryTest {
         assertEquals("Updated Name", updated.getName());
         assertEquals(2002, updated.getRoll());
     }
+
+    @Test
+    void testVersionIncrementsAndStaleMergeFails() {
+        // Arrange
+        Student saved = studentRepository.saveAndFlush(testStudent);
+        assertEquals(0L, saved.getVersion());
+        entityManager.clear();
+
+        // Act: a copy detached at version 0, then the row is updated to version 1
+        Student stale = new Student();
+        stale.setId(saved.getId());
+        stale.setName("Stale Edit");
+        stale.setRoll(saved.getRoll());
+        stale.setEmail(saved.getEmail());
+        stale.setPassword(saved.getPassword());
+        stale.setVersion(0L);
+
+        Student current = studentRepository.findById(saved.getId()).orElseThrow();
+        current.setName("Fresh Edit");
+        studentRepository.saveAndFlush(current);
+        entityManager.clear();
+
+        // Assert
+        assertEquals(1L, studentRepository.findById(saved.getId()).orElseThrow().getVersion());
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> studentRepository.saveAndFlush(stale));
+    }
+
+    @Test
+    void testKeysetPagination() {
+        // Arrange: Save three students
+        Student first = studentRepository.save(testStudent);
+        Student second = studentRepository.save(newStudent(1002, "student2@university.edu"));
+        Student third = studentRepository.save(newStudent(1003, "student3@university.edu"));
+
+        // Act
+        List<StudentRow> firstPage = studentRepository.findFirstRows(Limit.of(2));
+        List<StudentRow> nextPage = studentRepository.findRowsAfter(second.getId(), Limit.of(2));
+        List<StudentRow> previousPage = studentRepository.findRowsBefore(third.getId(), Limit.of(2));
+
+        // Assert
+        assertEquals(List.of(first.getId(), second.getId()), firstPage.stream().map(StudentRow::id).toList());
+        assertEquals(List.of(third.getId()), nextPage.stream().map(StudentRow::id).toList());
+        assertEquals(List.of(second.getId(), first.getId()), previousPage.stream().map(StudentRow::id).toList());
+    }
+
+    @Test
+    void testListRows_LoadNoEntities() {
+        // Arrange
+        studentRepository.save(testStudent);
+        studentRepository.save(newStudent(1002, "student2@university.edu"));
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        Slice<StudentRow> page = studentRepository.findRowsBy(PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "roll")));
+
+        // Assert: plain values, nothing managed or snapshotted
+        assertEquals(List.of(1002, 1001), page.getContent().stream().map(StudentRow::roll).toList());
+        assertEquals("student2@university.edu", page.getContent().get(0).email());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void testFindRowsByNameLike() {
+        // Arrange
+        studentRepository.save(testStudent);
+        Student other = newStudent(1002, "student2@university.edu");
+        other.setName("Other Student");
+        studentRepository.save(other);
+
+        // Act
+        Slice<StudentRow> found = studentRepository.findRowsByNameLike("OTH%", PageRequest.of(0, 10));
+
+        // Assert
+        assertEquals(List.of(1002), found.getContent().stream().map(StudentRow::roll).toList());
+    }
+
+    @Test
+    void testStreamAllInIdOrder() {
+        // Arrange
+        Student first = studentRepository.save(testStudent);
+        Student second = studentRepository.save(newStudent(1002, "student2@university.edu"));
+
+        // Act
+        List<Long> ids;
+        try (Stream<Student> students = studentRepository.streamAllByOrderByIdAsc()) {
+            ids = students.map(Student::getId).toList();
+        }
+
+        // Assert
+        assertEquals(List.of(first.getId(), second.getId()), ids);
+    }
+
+    @Test
+    void testSaveAllIsBatched() {
+        // Arrange: 120 new students and fresh statistics
+        List<Student> students = new ArrayList<>();
+        for (int roll = 2000; roll < 2120; roll++) {
+            students.add(newStudent(roll, "student" + roll + "@university.edu"));
+        }
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        studentRepository.saveAll(students);
+        entityManager.flush();
+
+        // Assert: a few sequence calls plus one statement per batch of 50, not one per row
+        assertEquals(120, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() <= 10,
+                "expected batched inserts but prepared " + statistics.getPrepareStatementCount() + " statements");
+    }
+
+    private Student newStudent(int roll, String email) {
+        Student student = new Student();
+        student.setName("Student " + roll);
+        student.setRoll(roll);
+        student.setEmail(email);
+        student.setPassword("password123");
+        student.setRole("STUDENT");
+        return student;
+    }
 }
\ No newline at end of file
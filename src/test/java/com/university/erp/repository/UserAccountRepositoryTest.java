@@ -0,0 +1,78 @@
+package com.university.erp.repository;
+
+import com.university.erp.dto.UserAccount;
+import com.university.erp.entity.Student;
+import com.university.erp.entity.Teacher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional
+class UserAccountRepositoryTest {
+
+    @Autowired
+    private UserAccountRepository userAccountRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository.deleteAll();
+        teacherRepository.deleteAll();
+
+        Student student = new Student();
+        student.setName("Test Student");
+        student.setRoll(1001);
+        student.setEmail("student@university.edu");
+        student.setPassword("studentHash");
+        student.setRole("STUDENT");
+        studentRepository.save(student);
+
+        Teacher teacher = new Teacher();
+        teacher.setName("Test Teacher");
+        teacher.setEmployeeId(5001);
+        teacher.setEmail("teacher@university.edu");
+        teacher.setPassword("teacherHash");
+        teacher.setRole("TEACHER");
+        teacherRepository.save(teacher);
+
+        studentRepository.flush();
+        teacherRepository.flush();
+    }
+
+    @Test
+    void testFindByEmail_Student() {
+        Optional<UserAccount> found = userAccountRepository.findByEmail("student@university.edu");
+
+        assertTrue(found.isPresent());
+        assertEquals("studentHash", found.get().getPassword());
+        assertEquals("STUDENT", found.get().getRole());
+    }
+
+    @Test
+    void testFindByEmail_Teacher() {
+        Optional<UserAccount> found = userAccountRepository.findByEmail("teacher@university.edu");
+
+        assertTrue(found.isPresent());
+        assertEquals("teacherHash", found.get().getPassword());
+        assertEquals("TEACHER", found.get().getRole());
+    }
+
+    @Test
+    void testFindByEmail_NotFound() {
+        Optional<UserAccount> found = userAccountRepository.findByEmail("nobody@university.edu");
+
+        assertFalse(found.isPresent());
+    }
+}
@@ -0,0 +1,19 @@
+package com.university.erp.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BCryptCostCalibratorTest {
+
+    @Test
+    void testImpossibleTargetFallsBackToMinimum() {
+        // No hash can finish in negative time, so even the first candidate overshoots
+        assertEquals(4, BCryptCostCalibrator.calibrate(-1, 4, 6));
+    }
+
+    @Test
+    void testGenerousTargetStopsAtMaximum() {
+        assertEquals(6, BCryptCostCalibrator.calibrate(60_000, 4, 6));
+    }
+}
@@ -0,0 +1,103 @@
+package com.university.erp.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserDetailsCacheTest {
+
+    private UserDetailsCache userDetailsCache;
+    private AtomicInteger loads;
+    private Function<String, UserDetails> loader;
+
+    @BeforeEach
+    void setUp() {
+        userDetailsCache = new UserDetailsCache(100, Duration.ofMinutes(5));
+        loads = new AtomicInteger();
+        loader = email -> {
+            loads.incrementAndGet();
+            return new User(email, "hash", List.of(new SimpleGrantedAuthority("ROLE_STUDENT")));
+        };
+    }
+
+    @Test
+    void testSecondLookupIsServedFromCache() {
+        userDetailsCache.get("test@university.edu", loader);
+        UserDetails user = userDetailsCache.get("test@university.edu", loader);
+
+        assertEquals(1, loads.get());
+        assertEquals("hash", user.getPassword());
+    }
+
+    @Test
+    void testErasedCredentialsDoNotLeakIntoCache() {
+        // Spring Security erases the password of the object it authenticated
+        User first = (User) userDetailsCache.get("test@university.edu", loader);
+        first.eraseCredentials();
+
+        UserDetails second = userDetailsCache.get("test@university.edu", loader);
+
+        assertEquals("hash", second.getPassword());
+    }
+
+    @Test
+    void testEvictForcesReload() {
+        userDetailsCache.get("test@university.edu", loader);
+        userDetailsCache.evict("test@university.edu");
+        userDetailsCache.get("test@university.edu", loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testEvictDuringLoadDropsTheLoadedAccount() {
+        // The email changes and its after-commit evict fires while a login is still loading the old row
+        Function<String, UserDetails> racingLoader = email -> {
+            UserDetails user = loader.apply(email);
+            userDetailsCache.evict(email);
+            return user;
+        };
+
+        userDetailsCache.get("test@university.edu", racingLoader);
+        userDetailsCache.get("test@university.edu", loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testUnknownUserIsNotCached() {
+        Function<String, UserDetails> missing = email -> {
+            loads.incrementAndGet();
+            throw new UsernameNotFoundException("User not found with email: " + email);
+        };
+
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsCache.get("nobody@university.edu", missing));
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsCache.get("nobody@university.edu", missing));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testHitAndMissMetrics() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        userDetailsCache.bindTo(registry);
+
+        userDetailsCache.get("test@university.edu", loader);
+        userDetailsCache.get("test@university.edu", loader);
+
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", "userDetails").tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", "userDetails").tag("result", "miss")
+                .functionCounter().count());
+    }
+}
@@ -1,16 +1,33 @@
 package com.university.erp.service;
 
+import com.university.erp.dto.CourseRow;
+import com.university.erp.dto.ListingPage;
+import com.university.erp.dto.ListingRequest;
+import com.university.erp.dto.TaughtCourse;
 import com.university.erp.entity.Course;
+import com.university.erp.entity.CourseSeats;
+import com.university.erp.entity.Department;
+import com.university.erp.entity.Teacher;
 import com.university.erp.repository.CourseRepository;
+import com.university.erp.repository.CourseSeatsRepository;
+import com.university.erp.repository.DepartmentRepository;
+import com.university.erp.repository.TeacherRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -22,6 +39,18 @@ class CourseServiceTest {
     @Mock // Creates a mock (fake) CourseRepository
     private CourseRepository courseRepository;
 
+    @Mock
+    private CourseSeatsRepository courseSeatsRepository;
+
+    @Mock
+    private DepartmentRepository departmentRepository;
+
+    @Mock
+    private TeacherRepository teacherRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks // Injects the mock into CourseService
     private CourseService courseService;
 
@@ -55,6 +84,69 @@ class CourseServiceTest {
         verify(courseRepository, times(1)).findAll();
     }
 
+    @Test
+    void testListCourses_SortedByWhitelistedField() {
+        // Arrange: sorting by a whitelisted field adds an id tie-breaker
+        Pageable expected = PageRequest.of(1, 10, Sort.by(Sort.Direction.DESC, "name")
+                .and(Sort.by(Sort.Direction.DESC, "id")));
+        when(courseRepository.findRowsBy(expected))
+                .thenReturn(new SliceImpl<>(Arrays.asList(testRow()), expected, true));
+
+        // Act
+        ListingPage<CourseRow> page = courseService.list(new ListingRequest(1, 10, "name", "desc", null));
+
+        // Assert
+        assertEquals(1, page.content().size());
+        assertTrue(page.hasPrevious());
+        assertTrue(page.hasNext());
+        assertEquals("name", page.request().sort());
+        verify(courseRepository, never()).findAll();
+    }
+
+    @Test
+    void testListCourses_UnknownSortFallsBackToId() {
+        // Act
+        ListingRequest resolved = courseService.resolve(new ListingRequest(-3, 5000, "credit; drop table", "sideways", " "));
+
+        // Assert
+        assertEquals(0, resolved.page());
+        assertEquals(100, resolved.size());
+        assertEquals("id", resolved.sort());
+        assertEquals("asc", resolved.dir());
+        assertNull(resolved.q());
+    }
+
+    @Test
+    void testListCourses_FilteredByName() {
+        // Arrange
+        Pageable expected = PageRequest.of(0, 20, Sort.by(Sort.Direction.ASC, "id"));
+        when(courseRepository.findRowsByNameLike("INTRO%", expected))
+                .thenReturn(new SliceImpl<>(Arrays.asList(testRow()), expected, false));
+
+        // Act
+        ListingPage<CourseRow> page = courseService.list(new ListingRequest(null, null, null, null, " Intro "));
+
+        // Assert
+        assertEquals(1, page.content().size());
+        assertFalse(page.hasNext());
+        assertEquals("Intro", page.request().q());
+    }
+
+    @Test
+    void testListCourses_FilterWildcardsMatchLiterally() {
+        // Arrange
+        Pageable expected = PageRequest.of(0, 20, Sort.by(Sort.Direction.ASC, "id"));
+        when(courseRepository.findRowsByNameLike("CS!_1%", expected))
+                .thenReturn(new SliceImpl<>(List.of(), expected, false));
+
+        // Act
+        ListingPage<CourseRow> page = courseService.list(new ListingRequest(null, null, null, null, "cs_1"));
+
+        // Assert
+        assertTrue(page.content().isEmpty());
+        verify(courseRepository, times(1)).findRowsByNameLike("CS!_1%", expected);
+    }
+
     @Test
     void testGetCourseById_Found() {
         // Arrange
@@ -96,6 +188,42 @@ class CourseServiceTest {
         assertEquals("Introduction to Java", result.getName());
         assertEquals("CSE101", result.getCode());
         verify(courseRepository, times(1)).save(testCourse);
+        verify(courseSeatsRepository, times(1)).save(argThat((CourseSeats seats) -> seats.getCourse() == testCourse));
+        verify(eventPublisher).publishEvent(new EntityChangedEvent(Course.class));
+    }
+
+    @Test
+    void testCreateCourse_ReferencesSelectedDepartmentAndTeacher() {
+        // Arrange: the form bound only the ids; no teacher was chosen
+        Department selected = new Department();
+        selected.setId(5L);
+        testCourse.setDepartment(selected);
+        testCourse.setTeacher(new Teacher());
+        Department reference = new Department();
+        when(departmentRepository.getReferenceById(5L)).thenReturn(reference);
+        when(courseRepository.save(testCourse)).thenReturn(testCourse);
+
+        // Act
+        courseService.createCourse(testCourse);
+
+        // Assert
+        assertSame(reference, testCourse.getDepartment());
+        assertNull(testCourse.getTeacher());
+        verify(teacherRepository, never()).getReferenceById(any());
+    }
+
+    @Test
+    void testGetCourseCodesByTeacher_OneQueryForThePage() {
+        // Arrange
+        when(courseRepository.findTaughtCourses(List.of(7L, 8L))).thenReturn(List.of(
+                new TaughtCourse(7L, "CSE101"), new TaughtCourse(7L, "CSE305")));
+
+        // Act
+        Map<Long, List<String>> result = courseService.getCourseCodesByTeacher(List.of(7L, 8L));
+
+        // Assert: teachers without courses are simply absent
+        assertEquals(Map.of(7L, List.of("CSE101", "CSE305")), result);
+        verify(courseRepository, times(1)).findTaughtCourses(List.of(7L, 8L));
     }
 
     @Test
@@ -107,15 +235,30 @@ class CourseServiceTest {
         updateDetails.setCredit(4.0f);
 
         when(courseRepository.findById(1L)).thenReturn(Optional.of(testCourse));
-        when(courseRepository.save(any(Course.class))).thenReturn(testCourse);
 
         // Act
         Course result = courseService.updateCourse(1L, updateDetails);
 
         // Assert
         assertNotNull(result);
+        assertEquals("Advanced Java", result.getName()); // changed on the managed entity itself
         verify(courseRepository, times(1)).findById(1L);
-        verify(courseRepository, times(1)).save(any(Course.class));
+        verify(courseRepository, never()).save(any(Course.class));
+    }
+
+    @Test
+    void testUpdateCourse_StaleVersion() {
+        // Arrange: the form was rendered from version 2, someone has saved version 3 since
+        testCourse.setVersion(3L);
+        Course updateDetails = new Course();
+        updateDetails.setName("Advanced Java");
+        updateDetails.setVersion(2L);
+        when(courseRepository.findById(1L)).thenReturn(Optional.of(testCourse));
+
+        // Act & Assert
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> courseService.updateCourse(1L, updateDetails));
+        assertEquals("Introduction to Java", testCourse.getName());
+        verify(courseRepository, never()).save(any(Course.class));
     }
 
     @Test
@@ -138,4 +281,61 @@ class CourseServiceTest {
         // Assert: Verify repository method was called
         verify(courseRepository, times(1)).deleteById(1L);
     }
-} 
\ No newline at end of file
+
+    @Test
+    void testDeleteCourses() {
+        // Arrange
+        List<Long> ids = List.of(1L, 2L);
+        when(courseRepository.deleteByIdIn(ids)).thenReturn(2);
+
+        // Act
+        int deleted = courseService.deleteCourses(ids);
+
+        // Assert
+        assertEquals(2, deleted);
+        verify(courseRepository, never()).deleteById(any());
+        verify(eventPublisher, times(1)).publishEvent(any(EntityChangedEvent.class));
+    }
+
+    @Test
+    void testDeleteCoursesByName() {
+        // Arrange
+        when(courseRepository.deleteByNameLike("INTRO%")).thenReturn(3);
+
+        // Act
+        int deleted = courseService.deleteCoursesByName("Intro");
+
+        // Assert
+        assertEquals(3, deleted);
+        verify(eventPublisher, times(1)).publishEvent(any(EntityChangedEvent.class));
+    }
+
+    @Test
+    void testUpdateCredits() {
+        // Arrange
+        List<Long> ids = List.of(1L, 2L);
+        when(courseRepository.updateCreditByIdIn(ids, 4.0f)).thenReturn(2);
+
+        // Act
+        int updated = courseService.updateCredits(ids, 4.0f);
+
+        // Assert: one UPDATE, no entities loaded
+        assertEquals(2, updated);
+        verify(courseRepository, never()).findById(any());
+        verify(eventPublisher, times(1)).publishEvent(any(EntityChangedEvent.class));
+    }
+
+    @Test
+    void testUpdateCredits_EmptySelection() {
+        // Act
+        int updated = courseService.updateCredits(List.of(), 4.0f);
+
+        // Assert
+        assertEquals(0, updated);
+        verifyNoInteractions(courseRepository, eventPublisher);
+    }
+
+    private CourseRow testRow() {
+        return new CourseRow(1L, "Introduction to Java", "CSE101", 3.0f, null, null);
+    }
+}
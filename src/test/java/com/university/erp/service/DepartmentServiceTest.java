@@ -1,13 +1,17 @@
 package com.university.erp.service;
 
 import com.university.erp.entity.Department;
+import com.university.erp.repository.CourseRepository;
 import com.university.erp.repository.DepartmentRepository;
+import com.university.erp.repository.TeacherRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Arrays;
 import java.util.List;
@@ -22,6 +26,15 @@ class DepartmentServiceTest {
     @Mock // Creates a mock (fake) DepartmentRepository
     private DepartmentRepository departmentRepository;
 
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private TeacherRepository teacherRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks // Injects the mock into DepartmentService
     private DepartmentService departmentService;
 
@@ -91,6 +104,7 @@ class DepartmentServiceTest {
         assertNotNull(result);
         assertEquals("Computer Science", result.getName());
         verify(departmentRepository, times(1)).save(testDepartment);
+        verify(eventPublisher).publishEvent(new EntityChangedEvent(Department.class));
     }
 
     @Test
@@ -100,15 +114,15 @@ class DepartmentServiceTest {
         updateDetails.setName("Updated Department");
 
         when(departmentRepository.findById(1L)).thenReturn(Optional.of(testDepartment));
-        when(departmentRepository.save(any(Department.class))).thenReturn(testDepartment);
 
         // Act
         Department result = departmentService.updateDepartment(1L, updateDetails);
 
         // Assert
         assertNotNull(result);
+        assertEquals("Updated Department", result.getName()); // changed on the managed entity itself
         verify(departmentRepository, times(1)).findById(1L);
-        verify(departmentRepository, times(1)).save(any(Department.class));
+        verify(departmentRepository, never()).save(any(Department.class));
     }
 
     @Test
@@ -131,4 +145,16 @@ class DepartmentServiceTest {
         // Assert: Verify repository method was called
         verify(departmentRepository, times(1)).deleteById(1L);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testDeleteDepartment_UnassignsCoursesAndTeachersFirst() {
+        // Act
+        departmentService.deleteDepartment(1L);
+
+        // Assert: its courses and teachers stay, without a department
+        InOrder inOrder = inOrder(courseRepository, teacherRepository, departmentRepository);
+        inOrder.verify(courseRepository).unassignDepartment(1L);
+        inOrder.verify(teacherRepository).unassignDepartment(1L);
+        inOrder.verify(departmentRepository).deleteById(1L);
+    }
+}
@@ -0,0 +1,143 @@
+package com.university.erp.service;
+
+import com.university.erp.entity.Course;
+import com.university.erp.entity.Student;
+import com.university.erp.security.UserDetailsCache;
+import jakarta.persistence.EntityManager;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Counts the SQL the update methods actually send: only changed columns, and
+ * nothing at all for an unchanged form.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.university.erp.service.DirtyCheckingUpdateTest$RecordingStatementInspector")
+@Import({CourseService.class, StudentService.class, UserDetailsCache.class})
+class DirtyCheckingUpdateTest {
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Course course;
+    private Student student;
+
+    @BeforeEach
+    void setUp() {
+        course = new Course();
+        course.setName("Introduction to Java");
+        course.setCode("CSE101");
+        course.setCredit(3.0f);
+        entityManager.persist(course);
+
+        student = new Student();
+        student.setName("Test Student");
+        student.setRoll(1001);
+        student.setEmail("test@university.edu");
+        student.setPassword("encryptedPassword123");
+        entityManager.persist(student);
+
+        entityManager.flush();
+        entityManager.clear();
+        RecordingStatementInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    void testUpdateCourse_WritesOnlyChangedColumn() {
+        // Arrange
+        Course details = courseDetails("Advanced Java", "CSE101", 3.0f);
+
+        // Act
+        courseService.updateCourse(course.getId(), details);
+        entityManager.flush();
+
+        // Assert
+        List<String> updates = updates();
+        assertEquals(1, updates.size());
+        assertTrue(updates.get(0).contains("name"));
+        assertFalse(updates.get(0).contains("code"));
+        assertFalse(updates.get(0).contains("credit"));
+    }
+
+    @Test
+    void testUpdateCourse_UnchangedFormWritesNothing() {
+        // Arrange
+        Course details = courseDetails("Introduction to Java", "CSE101", 3.0f);
+
+        // Act
+        courseService.updateCourse(course.getId(), details);
+        entityManager.flush();
+
+        // Assert: at most the lookup, no UPDATE and no version bump
+        assertTrue(updates().isEmpty());
+        assertTrue(RecordingStatementInspector.STATEMENTS.size() <= 1);
+        entityManager.clear();
+        assertEquals(0L, entityManager.find(Course.class, course.getId()).getVersion());
+    }
+
+    @Test
+    void testUpdateStudent_LeavesCredentialsOutOfTheUpdate() {
+        // Arrange
+        Student details = new Student();
+        details.setName("Renamed Student");
+        details.setRoll(1001);
+        details.setEmail("test@university.edu");
+
+        // Act
+        studentService.updateStudent(student.getId(), details);
+        entityManager.flush();
+
+        // Assert
+        List<String> updates = updates();
+        assertEquals(1, updates.size());
+        assertTrue(updates.get(0).contains("name"));
+        assertFalse(updates.get(0).contains("email"));
+        assertFalse(updates.get(0).contains("password"));
+        assertFalse(updates.get(0).contains("roll"));
+    }
+
+    private static Course courseDetails(String name, String code, Float credit) {
+        Course details = new Course();
+        details.setName(name);
+        details.setCode(code);
+        details.setCredit(credit);
+        return details;
+    }
+
+    private static List<String> updates() {
+        return RecordingStatementInspector.STATEMENTS.stream()
+                .map(sql -> sql.toLowerCase(Locale.ROOT))
+                .filter(sql -> sql.startsWith("update"))
+                .toList();
+    }
+
+    /**
+     * Registered by class name through the Hibernate property above.
+     */
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.university.erp.service;
+
+import com.university.erp.entity.Course;
+import com.university.erp.entity.Student;
+import com.university.erp.repository.CourseRepository;
+import com.university.erp.repository.CourseSeatsRepository;
+import com.university.erp.repository.EnrollmentRepository;
+import com.university.erp.repository.StudentRepository;
+import com.university.erp.security.UserDetailsCache;
+import com.university.erp.service.EnrollmentException.Reason;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Many students registering for the same course at the same moment, each in its own
+ * committed transaction, against the real database.
+ */
+@DataJpaTest
+@Import({RegistrationService.class, CourseService.class, StudentService.class, UserDetailsCache.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RegistrationConcurrencyTest {
+
+    private static final int CAPACITY = 5;
+    private static final int STUDENTS = 40;
+
+    @Autowired
+    private RegistrationService registrationService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private CourseSeatsRepository courseSeatsRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    private Course course;
+    private List<Student> students;
+
+    @BeforeEach
+    void setUp() {
+        course = new Course();
+        course.setName("Operating Systems");
+        course.setCode("CSE333");
+        course.setCredit(3.0f);
+        course.setCapacity(CAPACITY);
+        course = courseService.createCourse(course);
+
+        students = new ArrayList<>();
+        for (int i = 0; i < STUDENTS; i++) {
+            Student student = new Student();
+            student.setName("Student " + i);
+            student.setRoll(5000 + i);
+            student.setEmail("student" + i + "@university.edu");
+            student.setPassword("encryptedPassword123");
+            students.add(student);
+        }
+        students = studentRepository.saveAll(students);
+    }
+
+    @AfterEach
+    void tearDown() {
+        enrollmentRepository.deleteAllInBatch();
+        courseSeatsRepository.deleteAllInBatch();
+        studentRepository.deleteAllInBatch();
+        courseRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testConcurrentRegistrationsNeverOversubscribe() throws Exception {
+        // Arrange
+        ExecutorService executor = Executors.newFixedThreadPool(STUDENTS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger enrolled = new AtomicInteger();
+        AtomicInteger full = new AtomicInteger();
+        List<Future<?>> results = new ArrayList<>();
+
+        // Act: every thread waits at the gate, then all register at once
+        try {
+            for (Student student : students) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        registrationService.enroll(student.getId(), course.getId());
+                        enrolled.incrementAndGet();
+                    } catch (EnrollmentException ex) {
+                        assertEquals(Reason.COURSE_FULL, ex.getReason());
+                        full.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Assert: exactly the capacity got in, and the counter agrees with the rows
+        assertEquals(CAPACITY, enrolled.get());
+        assertEquals(STUDENTS - CAPACITY, full.get());
+        assertEquals(CAPACITY, enrollmentRepository.countByCourseId(course.getId()));
+        assertEquals(CAPACITY, courseSeatsRepository.findById(course.getId()).orElseThrow().getTaken());
+    }
+
+    @Test
+    void testDropFreesSeatOnceEvenWhenRetried() {
+        // Arrange
+        Long studentId = students.get(0).getId();
+        registrationService.enroll(studentId, course.getId());
+
+        // Act
+        boolean first = registrationService.drop(studentId, course.getId());
+        boolean retry = registrationService.drop(studentId, course.getId());
+
+        // Assert
+        assertTrue(first);
+        assertFalse(retry);
+        assertEquals(0, courseSeatsRepository.findById(course.getId()).orElseThrow().getTaken());
+    }
+
+    @Test
+    void testDeletingStudentGivesSeatBack() {
+        // Arrange
+        Long studentId = students.get(0).getId();
+        registrationService.enroll(studentId, course.getId());
+        registrationService.enroll(students.get(1).getId(), course.getId());
+
+        // Act: the database cascades to the enrollment
+        studentService.deleteStudents(List.of(studentId));
+
+        // Assert
+        assertEquals(1, enrollmentRepository.countByCourseId(course.getId()));
+        assertEquals(1, courseSeatsRepository.findById(course.getId()).orElseThrow().getTaken());
+    }
+}
@@ -0,0 +1,159 @@
+package com.university.erp.service;
+
+import com.university.erp.entity.Course;
+import com.university.erp.entity.Enrollment;
+import com.university.erp.entity.Student;
+import com.university.erp.repository.CourseRepository;
+import com.university.erp.repository.CourseSeatsRepository;
+import com.university.erp.repository.EnrollmentRepository;
+import com.university.erp.repository.StudentRepository;
+import com.university.erp.service.EnrollmentException.Reason;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RegistrationServiceTest {
+
+    @Mock
+    private EnrollmentRepository enrollmentRepository;
+
+    @Mock
+    private CourseSeatsRepository courseSeatsRepository;
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private StudentRepository studentRepository;
+
+    @InjectMocks
+    private RegistrationService registrationService;
+
+    private Course course;
+
+    @BeforeEach
+    void setUp() {
+        course = new Course();
+        course.setId(10L);
+        course.setName("Introduction to Java");
+        course.setCode("CSE101");
+        course.setCredit(3.0f);
+        course.setCapacity(30);
+    }
+
+    @Test
+    void testEnroll_ClaimsSeat() {
+        // Arrange
+        when(enrollmentRepository.existsByStudentIdAndCourseId(1L, 10L)).thenReturn(false);
+        when(courseRepository.findById(10L)).thenReturn(Optional.of(course));
+        when(studentRepository.getReferenceById(1L)).thenReturn(new Student());
+        when(courseSeatsRepository.claimSeat(10L)).thenReturn(1);
+
+        // Act
+        Enrollment enrollment = registrationService.enroll(1L, 10L);
+
+        // Assert
+        assertSame(course, enrollment.getCourse());
+        assertNotNull(enrollment.getEnrolledAt());
+        verify(enrollmentRepository, times(1)).saveAndFlush(enrollment);
+        verify(courseSeatsRepository, times(1)).claimSeat(10L);
+    }
+
+    @Test
+    void testEnroll_CourseFull() {
+        // Arrange
+        when(enrollmentRepository.existsByStudentIdAndCourseId(1L, 10L)).thenReturn(false);
+        when(courseRepository.findById(10L)).thenReturn(Optional.of(course));
+        when(courseSeatsRepository.claimSeat(10L)).thenReturn(0);
+
+        // Act
+        EnrollmentException exception = assertThrows(EnrollmentException.class,
+                () -> registrationService.enroll(1L, 10L));
+
+        // Assert
+        assertEquals(Reason.COURSE_FULL, exception.getReason());
+    }
+
+    @Test
+    void testEnroll_AlreadyEnrolled() {
+        // Arrange
+        when(enrollmentRepository.existsByStudentIdAndCourseId(1L, 10L)).thenReturn(true);
+
+        // Act
+        EnrollmentException exception = assertThrows(EnrollmentException.class,
+                () -> registrationService.enroll(1L, 10L));
+
+        // Assert: refused before any write
+        assertEquals(Reason.ALREADY_ENROLLED, exception.getReason());
+        verify(enrollmentRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(courseSeatsRepository);
+    }
+
+    @Test
+    void testEnroll_DoubleSubmitRaceNeverClaimsSeat() {
+        // Arrange: the existence check passed, but a concurrent request inserted first
+        when(enrollmentRepository.existsByStudentIdAndCourseId(1L, 10L)).thenReturn(false);
+        when(courseRepository.findById(10L)).thenReturn(Optional.of(course));
+        when(enrollmentRepository.saveAndFlush(any(Enrollment.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_enrollments_student_course"));
+
+        // Act
+        EnrollmentException exception = assertThrows(EnrollmentException.class,
+                () -> registrationService.enroll(1L, 10L));
+
+        // Assert
+        assertEquals(Reason.ALREADY_ENROLLED, exception.getReason());
+        verifyNoInteractions(courseSeatsRepository);
+    }
+
+    @Test
+    void testEnroll_CourseNotFound() {
+        // Arrange
+        when(enrollmentRepository.existsByStudentIdAndCourseId(1L, 99L)).thenReturn(false);
+        when(courseRepository.findById(99L)).thenReturn(Optional.empty());
+
+        // Act
+        EnrollmentException exception = assertThrows(EnrollmentException.class,
+                () -> registrationService.enroll(1L, 99L));
+
+        // Assert
+        assertEquals(Reason.COURSE_NOT_FOUND, exception.getReason());
+    }
+
+    @Test
+    void testDrop_ReleasesSeat() {
+        // Arrange
+        when(enrollmentRepository.deleteByStudentIdAndCourseId(1L, 10L)).thenReturn(1);
+
+        // Act
+        boolean dropped = registrationService.drop(1L, 10L);
+
+        // Assert
+        assertTrue(dropped);
+        verify(courseSeatsRepository, times(1)).releaseSeat(10L);
+    }
+
+    @Test
+    void testDrop_NotEnrolledChangesNothing() {
+        // Arrange
+        when(enrollmentRepository.deleteByStudentIdAndCourseId(1L, 10L)).thenReturn(0);
+
+        // Act
+        boolean dropped = registrationService.drop(1L, 10L);
+
+        // Assert: a retried drop must not give the seat back twice
+        assertFalse(dropped);
+        verifyNoInteractions(courseSeatsRepository);
+    }
+}
@@ -1,13 +1,20 @@
 package com.university.erp.service;
 
+import com.university.erp.dto.KeysetPage;
+import com.university.erp.dto.StudentRow;
 import com.university.erp.entity.Student;
+import com.university.erp.repository.CourseSeatsRepository;
 import com.university.erp.repository.StudentRepository;
+import com.university.erp.security.UserDetailsCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 
 import java.util.Arrays;
 import java.util.List;
@@ -22,6 +29,15 @@ class StudentServiceTest {
     @Mock // Creates a mock (fake) StudentRepository
     private StudentRepository studentRepository;
 
+    @Mock
+    private CourseSeatsRepository courseSeatsRepository;
+
+    @Mock
+    private UserDetailsCache userDetailsCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks // Injects the mock into StudentService
     private StudentService studentService;
 
@@ -57,6 +73,72 @@ class StudentServiceTest {
         verify(studentRepository, times(1)).findAll();
     }
 
+    @Test
+    void testGetStudentPage_FirstPage() {
+        // Arrange: one row more than the page size means there is a next page
+        StudentRow second = rowWithId(2L);
+        StudentRow third = rowWithId(3L);
+        when(studentRepository.findFirstRows(Limit.of(3)))
+                .thenReturn(Arrays.asList(rowWithId(1L), second, third));
+
+        // Act
+        KeysetPage<StudentRow> page = studentService.getStudentPage(null, null, 2);
+
+        // Assert
+        assertEquals(2, page.content().size());
+        assertFalse(page.hasPrevious());
+        assertTrue(page.hasNext());
+        assertEquals(2L, page.nextCursor());
+    }
+
+    @Test
+    void testGetStudentPage_After() {
+        // Arrange
+        StudentRow second = rowWithId(2L);
+        when(studentRepository.findRowsAfter(1L, Limit.of(3)))
+                .thenReturn(Arrays.asList(second));
+
+        // Act
+        KeysetPage<StudentRow> page = studentService.getStudentPage(1L, null, 2);
+
+        // Assert
+        assertEquals(1, page.content().size());
+        assertTrue(page.hasPrevious());
+        assertEquals(2L, page.prevCursor());
+        assertFalse(page.hasNext());
+    }
+
+    @Test
+    void testGetStudentPage_Before() {
+        // Arrange: rows come back newest first and must be flipped
+        StudentRow second = rowWithId(2L);
+        StudentRow third = rowWithId(3L);
+        when(studentRepository.findRowsBefore(4L, Limit.of(3)))
+                .thenReturn(Arrays.asList(third, second, rowWithId(1L)));
+
+        // Act
+        KeysetPage<StudentRow> page = studentService.getStudentPage(null, 4L, 2);
+
+        // Assert
+        assertEquals(2L, page.content().get(0).id());
+        assertEquals(3L, page.content().get(1).id());
+        assertEquals(2L, page.prevCursor());
+        assertEquals(3L, page.nextCursor());
+    }
+
+    @Test
+    void testGetStudentPage_SizeIsClamped() {
+        // Arrange: an absurd page size is capped at the configured maximum (100)
+        when(studentRepository.findFirstRows(Limit.of(101))).thenReturn(Arrays.asList(rowWithId(1L)));
+
+        // Act
+        KeysetPage<StudentRow> page = studentService.getStudentPage(null, null, 100000);
+
+        // Assert
+        assertEquals(100, page.size());
+        verify(studentRepository, times(1)).findFirstRows(Limit.of(101));
+    }
+
     @Test
     void testGetStudentById_Found() {
         // Arrange
@@ -109,15 +191,16 @@ class StudentServiceTest {
         updateDetails.setEmail("updated@university.edu");
 
         when(studentRepository.findById(1L)).thenReturn(Optional.of(testStudent));
-        when(studentRepository.save(any(Student.class))).thenReturn(testStudent);
 
         // Act
         Student result = studentService.updateStudent(1L, updateDetails);
 
         // Assert
         assertNotNull(result);
+        assertEquals("Updated Name", result.getName()); // changed on the managed entity itself
         verify(studentRepository, times(1)).findById(1L);
-        verify(studentRepository, times(1)).save(any(Student.class));
+        verify(studentRepository, never()).save(any(Student.class));
+        verify(eventPublisher).publishEvent(new EntityChangedEvent(Student.class));
     }
 
     @Test
@@ -166,4 +249,97 @@ class StudentServiceTest {
             studentService.findByEmail("notfound@university.edu");
         });
     }
-}
\ No newline at end of file
+
+    @Test
+    void testUpdateStudent_EvictsCachedLogin() {
+        // Arrange
+        Student updateDetails = new Student();
+        updateDetails.setEmail("changed@university.edu");
+        when(studentRepository.findById(1L)).thenReturn(Optional.of(testStudent));
+
+        // Act
+        studentService.updateStudent(1L, updateDetails);
+
+        // Assert: the login cached under the old email is dropped
+        verify(userDetailsCache, times(1)).evict("test@university.edu");
+    }
+
+    @Test
+    void testDeleteStudent_EvictsCachedLogin() {
+        // Arrange
+        when(studentRepository.findById(1L)).thenReturn(Optional.of(testStudent));
+
+        // Act
+        studentService.deleteStudent(1L);
+
+        // Assert
+        verify(userDetailsCache, times(1)).evict("test@university.edu");
+        verify(studentRepository, times(1)).deleteById(1L);
+    }
+
+    @Test
+    void testDeleteStudent_ReleasesSeatsBeforeDelete() {
+        // Act
+        studentService.deleteStudent(1L);
+
+        // Assert: the enrollments go with the row, so their seats are given back first
+        InOrder inOrder = inOrder(courseSeatsRepository, studentRepository);
+        inOrder.verify(courseSeatsRepository).releaseSeatsOfStudents(List.of(1L));
+        inOrder.verify(studentRepository).deleteById(1L);
+    }
+
+    @Test
+    void testDeleteStudents_OneStatementForTheSelection() {
+        // Arrange
+        List<Long> ids = List.of(1L, 2L, 3L);
+        when(studentRepository.findEmailsByIdIn(ids)).thenReturn(List.of("a@university.edu", "b@university.edu"));
+        when(studentRepository.deleteByIdIn(ids)).thenReturn(2);
+
+        // Act
+        int deleted = studentService.deleteStudents(ids);
+
+        // Assert: no per-row lookups or deletes, and the deleted logins leave the cache
+        assertEquals(2, deleted);
+        verify(studentRepository, never()).findById(any());
+        verify(studentRepository, never()).deleteById(any());
+        verify(userDetailsCache, times(1)).evict("a@university.edu");
+        verify(userDetailsCache, times(1)).evict("b@university.edu");
+        verify(courseSeatsRepository, times(1)).releaseSeatsOfStudents(ids);
+        verify(eventPublisher, times(1)).publishEvent(any(EntityChangedEvent.class));
+    }
+
+    @Test
+    void testDeleteStudents_EmptySelection() {
+        // Act
+        int deleted = studentService.deleteStudents(List.of());
+
+        // Assert
+        assertEquals(0, deleted);
+        verifyNoInteractions(studentRepository, eventPublisher);
+    }
+
+    @Test
+    void testDeleteStudentsByName_MatchesWildcardsLiterally() {
+        // Arrange
+        when(studentRepository.findEmailsByNameLike("AL!_!%!!%")).thenReturn(List.of());
+        when(studentRepository.deleteByNameLike("AL!_!%!!%")).thenReturn(0);
+
+        // Act
+        studentService.deleteStudentsByName(" al_%! ");
+
+        // Assert
+        verify(courseSeatsRepository, times(1)).releaseSeatsOfStudentsNamed("AL!_!%!!%");
+        verify(studentRepository, times(1)).deleteByNameLike("AL!_!%!!%");
+    }
+
+    @Test
+    void testDeleteStudentsByName_RequiresFilter() {
+        // Act & Assert: a blank filter must never turn into "delete everything"
+        assertThrows(IllegalArgumentException.class, () -> studentService.deleteStudentsByName(" "));
+        verifyNoInteractions(studentRepository);
+    }
+
+    private StudentRow rowWithId(Long id) {
+        return new StudentRow(id, "Student " + id, 1000 + id.intValue(), "student" + id + "@university.edu");
+    }
+}
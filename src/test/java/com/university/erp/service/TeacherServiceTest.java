@@ -1,13 +1,19 @@
 package com.university.erp.service;
 
+import com.university.erp.entity.Department;
 import com.university.erp.entity.Teacher;
+import com.university.erp.repository.CourseRepository;
+import com.university.erp.repository.DepartmentRepository;
 import com.university.erp.repository.TeacherRepository;
+import com.university.erp.security.UserDetailsCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Arrays;
 import java.util.List;
@@ -22,6 +28,18 @@ class TeacherServiceTest {
     @Mock // Creates a mock (fake) TeacherRepository
     private TeacherRepository teacherRepository;
 
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private DepartmentRepository departmentRepository;
+
+    @Mock
+    private UserDetailsCache userDetailsCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks // Injects the mock into TeacherService
     private TeacherService teacherService;
 
@@ -98,6 +116,24 @@ class TeacherServiceTest {
         assertEquals("Test Teacher", result.getName());
         assertEquals("test@university.edu", result.getEmail());
         verify(teacherRepository, times(1)).save(testTeacher);
+        verify(eventPublisher, times(1)).publishEvent(new EntityChangedEvent(Teacher.class));
+    }
+
+    @Test
+    void testCreateTeacher_ReferencesSelectedDepartment() {
+        // Arrange: the form bound only the department's id
+        Department selected = new Department();
+        selected.setId(5L);
+        testTeacher.setDepartment(selected);
+        Department reference = new Department();
+        when(departmentRepository.getReferenceById(5L)).thenReturn(reference);
+        when(teacherRepository.save(testTeacher)).thenReturn(testTeacher);
+
+        // Act
+        teacherService.createTeacher(testTeacher);
+
+        // Assert
+        assertSame(reference, testTeacher.getDepartment());
     }
 
     @Test
@@ -109,15 +145,15 @@ class TeacherServiceTest {
         updateDetails.setEmail("updated@university.edu");
 
         when(teacherRepository.findById(1L)).thenReturn(Optional.of(testTeacher));
-        when(teacherRepository.save(any(Teacher.class))).thenReturn(testTeacher);
 
         // Act
         Teacher result = teacherService.updateTeacher(1L, updateDetails);
 
         // Assert
         assertNotNull(result);
+        assertEquals("Updated Name", result.getName()); // changed on the managed entity itself
         verify(teacherRepository, times(1)).findById(1L);
-        verify(teacherRepository, times(1)).save(any(Teacher.class));
+        verify(teacherRepository, never()).save(any(Teacher.class));
     }
 
     @Test
@@ -140,4 +176,74 @@ class TeacherServiceTest {
         // Assert: Verify repository method was called
         verify(teacherRepository, times(1)).deleteById(1L);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testDeleteTeacher_UnassignsCoursesFirst() {
+        // Act
+        teacherService.deleteTeacher(1L);
+
+        // Assert: the teacher's courses stay, without a teacher
+        InOrder inOrder = inOrder(courseRepository, teacherRepository);
+        inOrder.verify(courseRepository).unassignTeachers(List.of(1L));
+        inOrder.verify(teacherRepository).deleteById(1L);
+    }
+
+    @Test
+    void testUpdateTeacher_EvictsCachedLogin() {
+        // Arrange
+        Teacher updateDetails = new Teacher();
+        updateDetails.setEmail("changed@university.edu");
+        when(teacherRepository.findById(1L)).thenReturn(Optional.of(testTeacher));
+
+        // Act
+        teacherService.updateTeacher(1L, updateDetails);
+
+        // Assert: the login cached under the old email is dropped
+        verify(userDetailsCache, times(1)).evict("test@university.edu");
+    }
+
+    @Test
+    void testDeleteTeacher_EvictsCachedLogin() {
+        // Arrange
+        when(teacherRepository.findById(1L)).thenReturn(Optional.of(testTeacher));
+
+        // Act
+        teacherService.deleteTeacher(1L);
+
+        // Assert
+        verify(userDetailsCache, times(1)).evict("test@university.edu");
+        verify(teacherRepository, times(1)).deleteById(1L);
+    }
+
+    @Test
+    void testDeleteTeachers_OneStatementForTheSelection() {
+        // Arrange
+        List<Long> ids = List.of(1L, 2L);
+        when(teacherRepository.findEmailsByIdIn(ids)).thenReturn(List.of("test@university.edu"));
+        when(teacherRepository.deleteByIdIn(ids)).thenReturn(1);
+
+        // Act
+        int deleted = teacherService.deleteTeachers(ids);
+
+        // Assert
+        assertEquals(1, deleted);
+        verify(teacherRepository, never()).deleteById(any());
+        verify(courseRepository, times(1)).unassignTeachers(ids);
+        verify(userDetailsCache, times(1)).evict("test@university.edu");
+    }
+
+    @Test
+    void testDeleteTeachersByName() {
+        // Arrange
+        when(teacherRepository.findEmailsByNameLike("SMI%")).thenReturn(List.of("smith@university.edu"));
+        when(teacherRepository.deleteByNameLike("SMI%")).thenReturn(1);
+
+        // Act
+        int deleted = teacherService.deleteTeachersByName("Smi");
+
+        // Assert
+        assertEquals(1, deleted);
+        verify(courseRepository, times(1)).unassignTeachersNamed("SMI%");
+        verify(userDetailsCache, times(1)).evict("smith@university.edu");
+    }
+}
@@ -0,0 +1,182 @@
+package com.university.erp.service;
+
+import com.university.erp.entity.Course;
+import com.university.erp.entity.Student;
+import com.university.erp.repository.CourseRepository;
+import com.university.erp.repository.CourseSeatsRepository;
+import com.university.erp.repository.EnrollmentRepository;
+import com.university.erp.repository.StudentRepository;
+import com.university.erp.repository.WaitlistRepository;
+import com.university.erp.service.EnrollmentException.Reason;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Waitlist promotion against the real database, each call in its own committed transaction.
+ * The queue head is read with a SKIP LOCKED lock, which needs H2's own dialect to render.
+ */
+@DataJpaTest(properties = {
+        "app.waitlist.batch-size=2",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"})
+@Import({RegistrationService.class, CourseService.class, WaitlistService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class WaitlistPromotionTest {
+
+    private static final int CAPACITY = 2;
+
+    @Autowired
+    private RegistrationService registrationService;
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private CourseSeatsRepository courseSeatsRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private WaitlistRepository waitlistRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    private Course course;
+    private List<Long> studentIds;
+
+    @BeforeEach
+    void setUp() {
+        course = new Course();
+        course.setName("Compilers");
+        course.setCode("CSE401");
+        course.setCredit(3.0f);
+        course.setCapacity(CAPACITY);
+        course = courseService.createCourse(course);
+
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Student student = new Student();
+            student.setName("Student " + i);
+            student.setRoll(6000 + i);
+            student.setEmail("waiting" + i + "@university.edu");
+            student.setPassword("encryptedPassword123");
+            students.add(student);
+        }
+        studentIds = studentRepository.saveAll(students).stream().map(Student::getId).toList();
+    }
+
+    @AfterEach
+    void tearDown() {
+        waitlistRepository.deleteAllInBatch();
+        enrollmentRepository.deleteAllInBatch();
+        courseSeatsRepository.deleteAllInBatch();
+        studentRepository.deleteAllInBatch();
+        courseRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testFreedSeatsGoToTheQueueInOrder() {
+        // Arrange: a full course with five students queued behind it
+        registrationService.enroll(studentIds.get(0), course.getId());
+        registrationService.enroll(studentIds.get(1), course.getId());
+        for (int i = 2; i < 7; i++) {
+            waitlistService.join(studentIds.get(i), course.getId());
+        }
+        registrationService.drop(studentIds.get(0), course.getId());
+        registrationService.drop(studentIds.get(1), course.getId());
+
+        // Act: a newcomer cannot take the freed seats ahead of the queue
+        EnrollmentException refused = assertThrows(EnrollmentException.class,
+                () -> registrationService.enroll(studentIds.get(7), course.getId()));
+        int promoted = waitlistService.promoteBatch(course.getId());
+
+        // Assert
+        assertEquals(Reason.COURSE_FULL, refused.getReason());
+        assertEquals(2, promoted);
+        assertTrue(enrollmentRepository.existsByStudentIdAndCourseId(studentIds.get(2), course.getId()));
+        assertTrue(enrollmentRepository.existsByStudentIdAndCourseId(studentIds.get(3), course.getId()));
+        assertEquals(Map.of(course.getId(), 1L), waitlistService.getPositions(studentIds.get(4)));
+        assertEquals(Map.of(course.getId(), 3L), waitlistService.getPositions(studentIds.get(6)));
+        assertEquals(CAPACITY, courseSeatsRepository.findById(course.getId()).orElseThrow().getTaken());
+    }
+
+    @Test
+    void testPromotionRunsInBatchesAndStopsWhenSeatsRunOut() {
+        // Arrange: three students queued for a full course that then gets three more seats,
+        // promoted two per batch
+        registrationService.enroll(studentIds.get(3), course.getId());
+        registrationService.enroll(studentIds.get(4), course.getId());
+        for (int i = 0; i < 3; i++) {
+            waitlistService.join(studentIds.get(i), course.getId());
+        }
+        course.setCapacity(CAPACITY + 3);
+        course = courseRepository.save(course);
+        assertEquals(List.of(course.getId()), waitlistService.getCourseIdsToPromote());
+
+        // Act
+        int first = waitlistService.promoteBatch(course.getId());
+        int second = waitlistService.promoteBatch(course.getId());
+        int retry = waitlistService.promoteBatch(course.getId());
+
+        // Assert: a repeated run finds nobody left to enroll
+        assertEquals(2, first);
+        assertEquals(1, second);
+        assertEquals(0, retry);
+        assertEquals(CAPACITY + 3, enrollmentRepository.countByCourseId(course.getId()));
+        assertEquals(CAPACITY + 3, courseSeatsRepository.findById(course.getId()).orElseThrow().getTaken());
+        assertEquals(0, waitlistRepository.count());
+        assertTrue(waitlistService.getCourseIdsToPromote().isEmpty());
+    }
+
+    @Test
+    void testJoiningACourseWithFreeSeatsIsRefused() {
+        // Act
+        EnrollmentException refused = assertThrows(EnrollmentException.class,
+                () -> waitlistService.join(studentIds.get(0), course.getId()));
+        registrationService.enroll(studentIds.get(1), course.getId());
+
+        // Assert: no entry was queued, so registration stays open
+        assertEquals(Reason.SEATS_AVAILABLE, refused.getReason());
+        assertEquals(0, waitlistRepository.count());
+        assertTrue(enrollmentRepository.existsByStudentIdAndCourseId(studentIds.get(1), course.getId()));
+    }
+
+    @Test
+    void testLeavingTheQueueIsIdempotent() {
+        // Arrange
+        registrationService.enroll(studentIds.get(2), course.getId());
+        registrationService.enroll(studentIds.get(3), course.getId());
+        waitlistService.join(studentIds.get(0), course.getId());
+        waitlistService.join(studentIds.get(1), course.getId());
+
+        // Act
+        boolean first = waitlistService.leave(studentIds.get(0), course.getId());
+        boolean retry = waitlistService.leave(studentIds.get(0), course.getId());
+
+        // Assert: the next student moves up
+        assertTrue(first);
+        assertFalse(retry);
+        assertEquals(Map.of(course.getId(), 1L), waitlistService.getPositions(studentIds.get(1)));
+        assertEquals(Set.of(), waitlistService.getPositions(studentIds.get(0)).keySet());
+    }
+}
@@ -0,0 +1,239 @@
+package com.university.erp.service;
+
+import com.university.erp.entity.Course;
+import com.university.erp.entity.Enrollment;
+import com.university.erp.entity.Student;
+import com.university.erp.entity.WaitlistEntry;
+import com.university.erp.repository.CourseRepository;
+import com.university.erp.repository.CourseSeatsRepository;
+import com.university.erp.repository.EnrollmentRepository;
+import com.university.erp.repository.StudentRepository;
+import com.university.erp.repository.WaitlistRepository;
+import com.university.erp.service.EnrollmentException.Reason;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WaitlistServiceTest {
+
+    private static final int BATCH_SIZE = 2;
+
+    @Mock
+    private WaitlistRepository waitlistRepository;
+
+    @Mock
+    private EnrollmentRepository enrollmentRepository;
+
+    @Mock
+    private CourseSeatsRepository courseSeatsRepository;
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private StudentRepository studentRepository;
+
+    private WaitlistService waitlistService;
+
+    private Course course;
+
+    @BeforeEach
+    void setUp() {
+        waitlistService = new WaitlistService(waitlistRepository, enrollmentRepository, courseSeatsRepository,
+                courseRepository, studentRepository, BATCH_SIZE);
+
+        course = new Course();
+        course.setId(10L);
+        course.setName("Introduction to Java");
+        course.setCode("CSE101");
+        course.setCredit(3.0f);
+        course.setCapacity(30);
+    }
+
+    @Test
+    void testJoin_QueuesStudent() {
+        // Arrange
+        when(enrollmentRepository.existsByStudentIdAndCourseId(1L, 10L)).thenReturn(false);
+        when(waitlistRepository.existsByStudentIdAndCourseId(1L, 10L)).thenReturn(false);
+        when(courseRepository.findById(10L)).thenReturn(Optional.of(course));
+        when(courseSeatsRepository.findFreeSeats(10L)).thenReturn(Optional.of(0));
+
+        // Act
+        WaitlistEntry entry = waitlistService.join(1L, 10L);
+
+        // Assert
+        assertSame(course, entry.getCourse());
+        assertNotNull(entry.getQueuedAt());
+        verify(waitlistRepository, times(1)).saveAndFlush(entry);
+    }
+
+    @Test
+    void testJoin_FreeSeatsNobodyWaitingFor() {
+        // Arrange
+        when(courseRepository.findById(10L)).thenReturn(Optional.of(course));
+        when(courseSeatsRepository.findFreeSeats(10L)).thenReturn(Optional.of(3));
+        when(waitlistRepository.existsByCourseId(10L)).thenReturn(false);
+
+        // Act
+        EnrollmentException exception = assertThrows(EnrollmentException.class,
+                () -> waitlistService.join(1L, 10L));
+
+        // Assert: queueing would block registrations for seats anyone could take now
+        assertEquals(Reason.SEATS_AVAILABLE, exception.getReason());
+        verify(waitlistRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void testJoin_FreeSeatsBehindAQueue() {
+        // Arrange
+        when(courseRepository.findById(10L)).thenReturn(Optional.of(course));
+        when(courseSeatsRepository.findFreeSeats(10L)).thenReturn(Optional.of(1));
+        when(waitlistRepository.existsByCourseId(10L)).thenReturn(true);
+
+        // Act
+        WaitlistEntry entry = waitlistService.join(1L, 10L);
+
+        // Assert: the freed seat goes to the queue first, so joining it is the only way in
+        verify(waitlistRepository, times(1)).saveAndFlush(entry);
+    }
+
+    @Test
+    void testJoin_AlreadyEnrolled() {
+        // Arrange
+        when(enrollmentRepository.existsByStudentIdAndCourseId(1L, 10L)).thenReturn(true);
+
+        // Act
+        EnrollmentException exception = assertThrows(EnrollmentException.class,
+                () -> waitlistService.join(1L, 10L));
+
+        // Assert
+        assertEquals(Reason.ALREADY_ENROLLED, exception.getReason());
+        verifyNoInteractions(waitlistRepository);
+    }
+
+    @Test
+    void testJoin_DoubleSubmitRace() {
+        // Arrange: the existence check passed, but a concurrent request queued first
+        when(enrollmentRepository.existsByStudentIdAndCourseId(1L, 10L)).thenReturn(false);
+        when(waitlistRepository.existsByStudentIdAndCourseId(1L, 10L)).thenReturn(false);
+        when(courseRepository.findById(10L)).thenReturn(Optional.of(course));
+        when(waitlistRepository.saveAndFlush(any(WaitlistEntry.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_waitlist_student_course"));
+
+        // Act
+        EnrollmentException exception = assertThrows(EnrollmentException.class,
+                () -> waitlistService.join(1L, 10L));
+
+        // Assert
+        assertEquals(Reason.ALREADY_WAITLISTED, exception.getReason());
+    }
+
+    @Test
+    void testPromoteBatch_NoFreeSeat() {
+        // Arrange
+        when(courseSeatsRepository.findFreeSeats(10L)).thenReturn(Optional.of(0));
+
+        // Act
+        int promoted = waitlistService.promoteBatch(10L);
+
+        // Assert: the queue is not even read
+        assertEquals(0, promoted);
+        verifyNoInteractions(waitlistRepository, enrollmentRepository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testPromoteBatch_TakesOneBatchOfTheQueueHead() {
+        // Arrange: five free seats, but a batch is two students
+        when(courseSeatsRepository.findFreeSeats(10L)).thenReturn(Optional.of(5));
+        when(waitlistRepository.findQueueHead(10L, Limit.of(BATCH_SIZE)))
+                .thenReturn(List.of(entry(100L, 1L), entry(101L, 2L)));
+        when(enrollmentRepository.findEnrolledStudentIds(10L, List.of(1L, 2L))).thenReturn(Set.of());
+        when(courseSeatsRepository.claimSeats(10L, 2)).thenReturn(1);
+
+        // Act
+        int promoted = waitlistService.promoteBatch(10L);
+
+        // Assert: enrolled, dequeued and seated together
+        assertEquals(2, promoted);
+        ArgumentCaptor<List<Enrollment>> enrollments = ArgumentCaptor.forClass(List.class);
+        verify(enrollmentRepository, times(1)).saveAllAndFlush(enrollments.capture());
+        assertEquals(List.of(1L, 2L), enrollments.getValue().stream().map(e -> e.getStudent().getId()).toList());
+        verify(waitlistRepository, times(1)).deleteByIdIn(List.of(100L, 101L));
+    }
+
+    @Test
+    void testPromoteBatch_NeverAsksForMoreThanTheFreeSeats() {
+        // Arrange
+        when(courseSeatsRepository.findFreeSeats(10L)).thenReturn(Optional.of(1));
+        when(waitlistRepository.findQueueHead(10L, Limit.of(1))).thenReturn(List.of());
+
+        // Act
+        int promoted = waitlistService.promoteBatch(10L);
+
+        // Assert
+        assertEquals(0, promoted);
+        verify(courseSeatsRepository, never()).claimSeats(any(), anyInt());
+    }
+
+    @Test
+    void testPromoteBatch_DropsEntriesOfStudentsAlreadyEnrolled() {
+        // Arrange
+        when(courseSeatsRepository.findFreeSeats(10L)).thenReturn(Optional.of(2));
+        when(waitlistRepository.findQueueHead(10L, Limit.of(2)))
+                .thenReturn(List.of(entry(100L, 1L), entry(101L, 2L)));
+        when(enrollmentRepository.findEnrolledStudentIds(10L, List.of(1L, 2L))).thenReturn(Set.of(1L));
+        when(courseSeatsRepository.claimSeats(10L, 1)).thenReturn(1);
+
+        // Act
+        int promoted = waitlistService.promoteBatch(10L);
+
+        // Assert: both entries leave the queue, only one seat is taken
+        assertEquals(1, promoted);
+        verify(waitlistRepository, times(1)).deleteByIdIn(List.of(100L, 101L));
+        verify(courseSeatsRepository, times(1)).claimSeats(10L, 1);
+    }
+
+    @Test
+    void testPromoteBatch_RefusedClaimRollsBackBatch() {
+        // Arrange: the seats went between reading and claiming them
+        when(courseSeatsRepository.findFreeSeats(10L)).thenReturn(Optional.of(1));
+        when(waitlistRepository.findQueueHead(10L, Limit.of(1))).thenReturn(List.of(entry(100L, 1L)));
+        when(enrollmentRepository.findEnrolledStudentIds(10L, List.of(1L))).thenReturn(Set.of());
+        when(courseSeatsRepository.claimSeats(10L, 1)).thenReturn(0);
+
+        // Act
+        EnrollmentException exception = assertThrows(EnrollmentException.class,
+                () -> waitlistService.promoteBatch(10L));
+
+        // Assert
+        assertEquals(Reason.COURSE_FULL, exception.getReason());
+    }
+
+    private WaitlistEntry entry(Long id, Long studentId) {
+        Student student = new Student();
+        student.setId(studentId);
+        WaitlistEntry entry = new WaitlistEntry();
+        entry.setId(id);
+        entry.setStudent(student);
+        entry.setCourse(course);
+        entry.setQueuedAt(Instant.now());
+        return entry;
+    }
+}
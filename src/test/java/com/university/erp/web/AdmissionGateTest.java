@@ -0,0 +1,109 @@
+package com.university.erp.web;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionGateTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void testAdmitsUpToConcurrencyAtOnce() {
+        AdmissionGate gate = gate(2, 0, Duration.ofSeconds(5));
+
+        gate.enter();
+        gate.enter();
+
+        assertEquals(2, gate.getInFlight());
+        assertEquals(2.0, count("admitted"));
+    }
+
+    @Test
+    void testWaiterGetsTheNextFreeToken() throws Exception {
+        AdmissionGate gate = gate(1, 1, Duration.ofSeconds(5));
+        gate.enter();
+
+        CompletableFuture<Void> waiter = CompletableFuture.runAsync(gate::enter);
+        waitForWaiting(gate, 1);
+        gate.exit(TimeUnit.MILLISECONDS.toNanos(10));
+        waiter.get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, gate.getInFlight());
+        assertEquals(0, gate.getWaiting());
+        assertEquals(1.0, count("queued"));
+        assertEquals(2.0, count("admitted"));
+    }
+
+    @Test
+    void testRejectsAtOnceWhenTheLineIsFull() throws Exception {
+        AdmissionGate gate = gate(1, 1, Duration.ofSeconds(5));
+        gate.enter();
+        CompletableFuture.runAsync(gate::enter);
+        waitForWaiting(gate, 1);
+
+        AdmissionRejectedException rejected = assertThrows(AdmissionRejectedException.class, gate::enter);
+
+        // Second in line behind the one waiting; at the assumed 100 ms a request, a second's wait
+        assertEquals("enroll", rejected.getGate());
+        assertEquals(2, rejected.getPosition());
+        assertEquals(1, rejected.getRetryAfterSeconds());
+        assertEquals(1.0, count("rejected"));
+        gate.exit(0);
+    }
+
+    @Test
+    void testRejectsAfterMaxWait() {
+        AdmissionGate gate = gate(1, 10, Duration.ofMillis(50));
+        gate.enter();
+
+        assertThrows(AdmissionRejectedException.class, gate::enter);
+        assertEquals(0, gate.getWaiting());
+        assertEquals(1.0, count("queued"));
+        assertEquals(1.0, count("rejected"));
+    }
+
+    @Test
+    void testEstimateFollowsObservedHoldTimes() {
+        AdmissionGate gate = gate(1, 0, Duration.ofSeconds(5));
+        // Requests have been holding their token for about 10 seconds each
+        for (int i = 0; i < 50; i++) {
+            gate.enter();
+            gate.exit(TimeUnit.SECONDS.toNanos(10));
+        }
+        gate.enter();
+
+        AdmissionRejectedException rejected = assertThrows(AdmissionRejectedException.class, gate::enter);
+
+        assertEquals(1, rejected.getPosition());
+        assertEquals(10, rejected.getRetryAfterSeconds());
+    }
+
+    @Test
+    void testRequiresAtLeastOneToken() {
+        assertThrows(IllegalArgumentException.class, () -> new AdmissionGate("enroll", 0, 10, Duration.ofSeconds(1)));
+    }
+
+    private AdmissionGate gate(int concurrency, int queueCapacity, Duration maxWait) {
+        AdmissionGate gate = new AdmissionGate("enroll", concurrency, queueCapacity, maxWait);
+        gate.bindTo(registry);
+        return gate;
+    }
+
+    private double count(String outcome) {
+        return registry.get("erp.admission.requests").tags("gate", "enroll", "outcome", outcome).functionCounter().count();
+    }
+
+    private void waitForWaiting(AdmissionGate gate, int waiting) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (gate.getWaiting() < waiting && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(waiting, gate.getWaiting());
+    }
+}
@@ -0,0 +1,135 @@
+package com.university.erp.web;
+
+import com.university.erp.dto.CourseRow;
+import com.university.erp.dto.ListingPage;
+import com.university.erp.dto.ListingRequest;
+import com.university.erp.entity.Course;
+import com.university.erp.entity.Teacher;
+import com.university.erp.service.CourseService;
+import com.university.erp.service.EntityChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RenderedRowsCacheTest {
+
+    @Mock
+    private CourseService courseService;
+
+    private TableVersions tableVersions;
+    private RenderedRowsCache renderedRowsCache;
+
+    @BeforeEach
+    void setUp() {
+        // The real row template, resolved from the classpath like the application does
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(resolver);
+
+        tableVersions = new TableVersions();
+        renderedRowsCache = new RenderedRowsCache(templateEngine, tableVersions, "/erp", 100);
+
+        CourseRow course = new CourseRow(7L, "Databases <Advanced>", "CSE301", 3.0f, null, null);
+        when(courseService.resolve(any(ListingRequest.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(courseService.list(any(ListingRequest.class))).thenAnswer(invocation ->
+                new ListingPage<>(List.of(course), invocation.getArgument(0), false, false));
+    }
+
+    @Test
+    void testRendersRowsWithEscapedValuesAndEditLinks() {
+        // Act
+        RenderedRows<CourseRow> rows = get(ListingRequest.defaults(), true);
+
+        // Assert
+        assertTrue(rows.html().contains("Databases &lt;Advanced&gt;"));
+        assertTrue(rows.html().contains("href=\"/erp/courses/edit/7\""));
+        assertFalse(rows.html().contains("th:"));
+        assertEquals(1, rows.page().content().size());
+    }
+
+    @Test
+    void testOmitsEditLinksWithoutPermission() {
+        // Act
+        RenderedRows<CourseRow> rows = get(ListingRequest.defaults(), false);
+
+        // Assert
+        assertTrue(rows.html().contains("CSE301"));
+        assertFalse(rows.html().contains("/courses/edit/"));
+    }
+
+    @Test
+    void testSecondRequestIsServedFromCache() {
+        // Act
+        RenderedRows<CourseRow> first = get(ListingRequest.defaults(), true);
+        RenderedRows<CourseRow> second = get(ListingRequest.defaults(), true);
+
+        // Assert
+        assertSame(first, second);
+        verify(courseService, times(1)).list(any(ListingRequest.class));
+    }
+
+    @Test
+    void testRolesAndPagesAreCachedSeparately() {
+        // Act
+        get(ListingRequest.defaults(), true);
+        get(ListingRequest.defaults(), false);
+        get(new ListingRequest(1, 20, "name", "asc", null), true);
+
+        // Assert
+        verify(courseService, times(3)).list(any(ListingRequest.class));
+    }
+
+    @Test
+    void testCommittedWriteInvalidatesEntries() {
+        // Arrange
+        get(ListingRequest.defaults(), true);
+
+        // Act
+        tableVersions.onEntityChanged(new EntityChangedEvent(Course.class));
+        get(ListingRequest.defaults(), true);
+
+        // Assert
+        verify(courseService, times(2)).list(any(ListingRequest.class));
+    }
+
+    @Test
+    void testWriteToShownTypeInvalidatesEntries() {
+        // Arrange: the rows show each course's teacher
+        renderedRowsCache.get("courses/rows", Course.class, courseService, ListingRequest.defaults(), true, Teacher.class);
+
+        // Act
+        tableVersions.onEntityChanged(new EntityChangedEvent(Teacher.class));
+        renderedRowsCache.get("courses/rows", Course.class, courseService, ListingRequest.defaults(), true, Teacher.class);
+
+        // Assert
+        verify(courseService, times(2)).list(any(ListingRequest.class));
+    }
+
+    @Test
+    void testSearchesAreNotCached() {
+        // Act
+        ListingRequest search = new ListingRequest(null, null, null, null, "Data");
+        get(search, true);
+        get(search, true);
+
+        // Assert
+        verify(courseService, times(2)).list(any(ListingRequest.class));
+    }
+
+    private RenderedRows<CourseRow> get(ListingRequest listing, boolean canEdit) {
+        return renderedRowsCache.get("courses/rows", Course.class, courseService, listing, canEdit);
+    }
+}